@@ -0,0 +1,126 @@
+package com.gitlab.pauloo27.core.sql;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opens the SQLite databases used by the benchmarks.
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+public class BenchmarkDatabase {
+
+    /**
+     * An in-memory database, lost when the connection is closed.
+     */
+    public static final String MEMORY = "memory";
+    /**
+     * A temporary database file, deleted when the JVM exits.
+     */
+    public static final String FILE = "file";
+
+    /**
+     * Opens and connects to a SQLite database.
+     *
+     * @param storage {@link #MEMORY} or {@link #FILE}.
+     *
+     * @return The connected EzSQL.
+     *
+     * @throws SQLException Problems to connect.
+     * @throws IOException  Problems to create the temporary file.
+     */
+    public static EzSQLite open(String storage) throws SQLException, IOException {
+        return open(storage, null);
+    }
+
+    /**
+     * Opens and connects to a SQLite database with a performance profile.
+     *
+     * @param storage {@link #MEMORY} or {@link #FILE}.
+     * @param profile The pragmas set in the connection or null to the SQLite defaults.
+     *
+     * @return The connected EzSQL.
+     *
+     * @throws SQLException Problems to connect.
+     * @throws IOException  Problems to create the temporary file.
+     */
+    public static EzSQLite open(String storage, SQLitePerformanceProfile profile) throws SQLException, IOException {
+        return open(storage, profile, 0);
+    }
+
+    /**
+     * Opens and connects to a SQLite database with a performance profile and a read pool.
+     *
+     * @param storage      {@link #MEMORY} or {@link #FILE}.
+     * @param profile      The pragmas set in the connections or null to the SQLite defaults.
+     * @param readPoolSize The maximum number of read-only connections or 0 to use one connection.
+     *
+     * @return The connected EzSQL.
+     *
+     * @throws SQLException Problems to connect.
+     * @throws IOException  Problems to create the temporary file.
+     */
+    public static EzSQLite open(String storage, SQLitePerformanceProfile profile, int readPoolSize) throws SQLException, IOException {
+        String path;
+        if (MEMORY.equals(storage)) {
+            path = ":memory:";
+        } else if (FILE.equals(storage)) {
+            File file = File.createTempFile("ezsql-benchmark", ".sqlite");
+            file.deleteOnExit();
+            // the WAL files of the profiles are kept while the connection is open
+            new File(file.getPath() + "-wal").deleteOnExit();
+            new File(file.getPath() + "-shm").deleteOnExit();
+            path = file.getPath();
+        } else {
+            throw new IllegalArgumentException("Unknown storage " + storage);
+        }
+
+        EzSQLite sql = new EzSQLite(path).withPerformanceProfile(profile).withReadPool(readPoolSize, 0);
+        try {
+            sql.registerDriver().connect();
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("Cannot load the SQLite driver", e);
+        }
+        return sql;
+    }
+
+    /**
+     * Creates the users table, if it doesn't exist, and fills it.
+     *
+     * @param sql  The EzSQL.
+     * @param rows The amount of users to insert.
+     *
+     * @return The users table.
+     *
+     * @throws SQLException Problems to create or fill the table.
+     */
+    public static SQLiteTable createUsers(EzSQLite sql, int rows) throws SQLException {
+        SQLiteTable table = sql.createIfNotExists(BenchmarkUser.class);
+        table.truncate();
+
+        if (rows > 0)
+            table.insertBatch(createUsers(rows), 500);
+
+        return table;
+    }
+
+    /**
+     * Creates users, without inserting them.
+     *
+     * @param amount The amount of users.
+     *
+     * @return The users.
+     */
+    public static List<BenchmarkUser> createUsers(int amount) {
+        List<BenchmarkUser> users = new ArrayList<>(amount);
+        for (int i = 0; i < amount; i++) {
+            users.add(new BenchmarkUser(i));
+        }
+        return users;
+    }
+}
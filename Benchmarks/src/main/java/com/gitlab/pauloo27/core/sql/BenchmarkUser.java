@@ -0,0 +1,60 @@
+package com.gitlab.pauloo27.core.sql;
+
+/**
+ * The model used by the benchmarks.
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+@Name("users")
+public class BenchmarkUser {
+
+    /**
+     * The user id.
+     */
+    int id;
+    /**
+     * The user name.
+     */
+    @Length(32)
+    @DefaultAttributes.NotNull
+    String name;
+    /**
+     * The user email.
+     */
+    @Length(64)
+    @DefaultAttributes.NotNull
+    String email;
+    /**
+     * The user age.
+     */
+    int age;
+    /**
+     * The user score.
+     */
+    double score;
+    /**
+     * If the user is active.
+     */
+    boolean active;
+
+    /**
+     * Creates a user.
+     *
+     * @param index The user index, used to build the values.
+     */
+    public BenchmarkUser(int index) {
+        this.name = "User " + index;
+        this.email = "user" + index + "@example.com";
+        this.age = 18 + index % 60;
+        this.score = index * 1.5;
+        this.active = index % 2 == 0;
+    }
+
+    /**
+     * Creates an empty user, used to map the rows.
+     */
+    public BenchmarkUser() {
+    }
+}
@@ -0,0 +1,115 @@
+package com.gitlab.pauloo27.core.sql;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the entry name validation, used by every statement builder. Run with the GC profiler to check the
+ * allocations per call ({@code gc.alloc.rate.norm} should be zero to the cached and the uncached validation):
+ * <pre>
+ * mvn -pl Benchmarks -am package -DskipTests -Dmaven.javadoc.skip=true
+ * java -jar Benchmarks/target/benchmarks.jar EntryNameBenchmark -prof gc
+ * </pre>
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntryNameBenchmark {
+
+    /**
+     * The entry name to check.
+     */
+    @Param({"name", "friends.name", "COUNT(user_email)", "'id'"})
+    public String name;
+
+    /**
+     * Checks the name using the cache.
+     *
+     * @return If the name is valid.
+     */
+    @Benchmark
+    public boolean cached() {
+        return EzSQL.checkEntryName(name);
+    }
+
+    /**
+     * Checks the name without the cache.
+     *
+     * @return If the name is valid.
+     */
+    @Benchmark
+    public boolean uncached() {
+        return EzSQL.validateEntryName(name);
+    }
+
+    /**
+     * Checks the name using the regex implementation replaced in the 0.5.0, as a baseline.
+     *
+     * @return If the name is valid.
+     */
+    @Benchmark
+    public boolean regex() {
+        return checkWithRegex(name);
+    }
+
+    /**
+     * Builds a select with a where condition and an order, which check 3 entry names.
+     *
+     * @return The select statement.
+     */
+    @Benchmark
+    public Select selectBuilder() {
+        return new Select(null, null, "name, email")
+                .where().atLeast("age", 18)
+                .orderBy("name", StatementBase.OrderByType.ASC);
+    }
+
+    /**
+     * The entry name validation before the 0.5.0.
+     *
+     * @param name The string to check.
+     *
+     * @return If the string is a valid entry name.
+     */
+    private static boolean checkWithRegex(String name) {
+        if (name.toLowerCase().matches("(avg|sum|count)\\([\\w|'|\"|\\*]+\\)")) {
+            String method = name.toLowerCase().split("\\(")[0];
+            if (!name.toLowerCase().startsWith(method + "(") || !name.endsWith(")"))
+                return false;
+
+            String column = name.substring(method.length() + 1, name.length() - 1);
+
+            return checkWithRegex(column);
+        }
+
+        if (name.equals("*"))
+            return true;
+
+        if (name.contains(".")) {
+            String[] names = name.split("\\.");
+            if (names.length != 2)
+                return false;
+
+            return Arrays.stream(names).allMatch(EntryNameBenchmark::checkWithRegex);
+        } else
+            return name.matches("\\w*");
+    }
+}
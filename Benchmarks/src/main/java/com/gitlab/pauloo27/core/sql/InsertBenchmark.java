@@ -0,0 +1,113 @@
+package com.gitlab.pauloo27.core.sql;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks inserting objects in an in-memory database, with a multi row insert ({@link Table#insertAll(Object[])})
+ * and with JDBC batches ({@link Table#insertBatch(java.util.Collection, int)}). The table is emptied before each
+ * iteration.
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InsertBenchmark {
+
+    /**
+     * The amount of objects inserted per operation.
+     */
+    @Param({"1", "100"})
+    public int rows;
+
+    /**
+     * The EzSQL connected to an in-memory database.
+     */
+    private EzSQLite sql;
+    /**
+     * The users table.
+     */
+    private SQLiteTable users;
+    /**
+     * The objects to insert.
+     */
+    private BenchmarkUser[] objects;
+
+    /**
+     * Creates the users table and the objects to insert.
+     *
+     * @throws SQLException Problems to create the table.
+     * @throws IOException  Problems to open the database.
+     */
+    @Setup
+    public void setUp() throws SQLException, IOException {
+        sql = BenchmarkDatabase.open(BenchmarkDatabase.MEMORY);
+        users = BenchmarkDatabase.createUsers(sql, 0);
+
+        List<BenchmarkUser> list = BenchmarkDatabase.createUsers(rows);
+        objects = list.toArray(new BenchmarkUser[0]);
+    }
+
+    /**
+     * Empties the table.
+     *
+     * @throws SQLException Problems to empty the table.
+     */
+    @Setup(Level.Iteration)
+    public void truncate() throws SQLException {
+        users.truncate();
+    }
+
+    /**
+     * Disconnects from the database.
+     *
+     * @throws SQLException Problems to disconnect.
+     */
+    @TearDown
+    public void tearDown() throws SQLException {
+        sql.disconnect();
+    }
+
+    /**
+     * Inserts the objects with a single insert statement.
+     */
+    @Benchmark
+    public void insertAll() {
+        users.insertAll((Object[]) objects).executeAndClose();
+    }
+
+    /**
+     * Inserts the objects with a JDBC batch.
+     *
+     * @return The inserted rows of each batch.
+     *
+     * @throws SQLException Problems to insert.
+     */
+    @Benchmark
+    public int[] insertBatch() throws SQLException {
+        return users.insertBatch(Arrays.asList(objects), 500);
+    }
+}
@@ -0,0 +1,201 @@
+package com.gitlab.pauloo27.core.sql;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks mapping a query result to objects ({@link QueryResult#toList(Class)} and {@link
+ * QueryResult#stream(Class)}), compared to mapping the same rows by hand with JDBC, and the model fields accessed
+ * with reflection compared to the method handle accessors ({@link FieldAccessor}).
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    /**
+     * The amount of rows in the table.
+     */
+    @Param({"10", "1000"})
+    public int rows;
+    /**
+     * If the mapping uses the method handle accessors instead of reflection.
+     */
+    @Param({"true", "false"})
+    public boolean generatedAccessors;
+
+    /**
+     * The EzSQL connected to an in-memory database.
+     */
+    private EzSQLite sql;
+    /**
+     * The users table.
+     */
+    private SQLiteTable users;
+    /**
+     * The mapped users, used to benchmark the field accessors without the database.
+     */
+    private BenchmarkUser[] mapped;
+    /**
+     * The age field accessed with reflection.
+     */
+    private FieldAccessor reflectionAge;
+    /**
+     * The name field accessed with reflection.
+     */
+    private FieldAccessor reflectionName;
+    /**
+     * The age field accessed with method handles.
+     */
+    private FieldAccessor generatedAge;
+    /**
+     * The name field accessed with method handles.
+     */
+    private FieldAccessor generatedName;
+
+    /**
+     * Creates and fills the users table.
+     *
+     * @throws SQLException         Problems to create the table.
+     * @throws IOException          Problems to open the database.
+     * @throws NoSuchFieldException If the model fields were renamed.
+     */
+    @Setup
+    public void setUp() throws SQLException, IOException, NoSuchFieldException {
+        sql = BenchmarkDatabase.open(BenchmarkDatabase.MEMORY);
+        sql.withGeneratedAccessors(generatedAccessors);
+        users = BenchmarkDatabase.createUsers(sql, rows);
+
+        mapped = new BenchmarkUser[rows];
+        for (int i = 0; i < rows; i++)
+            mapped[i] = new BenchmarkUser(i);
+
+        reflectionAge = FieldAccessor.of(BenchmarkUser.class.getDeclaredField("age"), false);
+        reflectionName = FieldAccessor.of(BenchmarkUser.class.getDeclaredField("name"), false);
+        generatedAge = FieldAccessor.of(BenchmarkUser.class.getDeclaredField("age"), true);
+        generatedName = FieldAccessor.of(BenchmarkUser.class.getDeclaredField("name"), true);
+    }
+
+    /**
+     * Disconnects from the database.
+     *
+     * @throws SQLException Problems to disconnect.
+     */
+    @TearDown
+    public void tearDown() throws SQLException {
+        sql.disconnect();
+    }
+
+    /**
+     * Maps every row to a list.
+     *
+     * @return The users.
+     */
+    @Benchmark
+    public List<BenchmarkUser> toList() {
+        return users.select().execute().toList(BenchmarkUser.class);
+    }
+
+    /**
+     * Maps every row with a stream, without keeping them.
+     *
+     * @return The sum of the ages.
+     *
+     * @throws SQLException Problems to read the result metadata.
+     */
+    @Benchmark
+    public long stream() throws SQLException {
+        try (Stream<BenchmarkUser> stream = users.select().execute().stream(BenchmarkUser.class)) {
+            return stream.mapToLong(user -> user.age).sum();
+        }
+    }
+
+    /**
+     * Maps every row by hand, as a baseline.
+     *
+     * @return The users.
+     *
+     * @throws SQLException Problems to execute the query.
+     */
+    @Benchmark
+    public List<BenchmarkUser> jdbc() throws SQLException {
+        List<BenchmarkUser> list = new ArrayList<>();
+        try (PreparedStatement statement = sql.getConnection().prepareStatement("SELECT * FROM users;");
+             ResultSet result = statement.executeQuery()) {
+            while (result.next()) {
+                BenchmarkUser user = new BenchmarkUser();
+                user.id = result.getInt("id");
+                user.name = result.getString("name");
+                user.email = result.getString("email");
+                user.age = result.getInt("age");
+                user.score = result.getDouble("score");
+                user.active = result.getBoolean("active");
+                list.add(user);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Reads and writes the fields of the mapped users with reflection.
+     *
+     * @return The sum of the ages and name lengths.
+     */
+    @Benchmark
+    public long reflectionFields() {
+        return accessFields(reflectionAge, reflectionName);
+    }
+
+    /**
+     * Reads and writes the fields of the mapped users with the method handle accessors.
+     *
+     * @return The sum of the ages and name lengths.
+     */
+    @Benchmark
+    public long generatedFields() {
+        return accessFields(generatedAge, generatedName);
+    }
+
+    /**
+     * Reads and writes the fields of the mapped users, like the mapping does.
+     *
+     * @param age  The age field accessor.
+     * @param name The name field accessor.
+     *
+     * @return The sum of the ages and name lengths.
+     */
+    private long accessFields(FieldAccessor age, FieldAccessor name) {
+        long sum = 0;
+        for (BenchmarkUser user : mapped) {
+            age.setInt(user, user.age + 1);
+            sum += (Integer) age.get(user) + ((String) name.get(user)).length();
+        }
+        return sum;
+    }
+}
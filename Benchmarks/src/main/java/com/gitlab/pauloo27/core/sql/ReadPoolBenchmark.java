@@ -0,0 +1,113 @@
+package com.gitlab.pauloo27.core.sql;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the concurrent reads of a SQLite database file with the single connection and with the read pool (see
+ * {@link EzSQLite#withReadPool(int, long)}):
+ * <pre>
+ * mvn -pl Benchmarks -am package -DskipTests -Dmaven.javadoc.skip=true
+ * java -jar Benchmarks/target/benchmarks.jar ReadPoolBenchmark
+ * </pre>
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class ReadPoolBenchmark {
+
+    /**
+     * The amount of rows in the table.
+     */
+    private static final int ROWS = 1000;
+
+    /**
+     * The maximum number of read-only connections, 0 to use the single connection.
+     */
+    @Param({"0", "4"})
+    public int readers;
+
+    /**
+     * The EzSQL.
+     */
+    private EzSQLite sql;
+    /**
+     * The users table.
+     */
+    private SQLiteTable users;
+    /**
+     * The select by id, compiled once.
+     */
+    private CompiledQuery<QueryResult> byId;
+
+    /**
+     * Creates and fills the users table.
+     *
+     * @throws SQLException Problems to create the table.
+     * @throws IOException  Problems to open the database.
+     */
+    @Setup
+    public void setUp() throws SQLException, IOException {
+        sql = BenchmarkDatabase.open(BenchmarkDatabase.FILE, SQLitePerformanceProfile.throughput(), readers);
+        users = BenchmarkDatabase.createUsers(sql, ROWS);
+        byId = users.select().where().equals("id", 0).compile();
+    }
+
+    /**
+     * Disconnects from the database.
+     *
+     * @throws SQLException Problems to disconnect.
+     */
+    @TearDown
+    public void tearDown() throws SQLException {
+        sql.disconnect();
+    }
+
+    /**
+     * Selects a random user by the id with a compiled query.
+     *
+     * @return The user.
+     *
+     * @throws SQLException Problems to execute the query.
+     */
+    @Benchmark
+    public BenchmarkUser selectById() throws SQLException {
+        return byId.execute(ThreadLocalRandom.current().nextInt(ROWS) + 1).to(BenchmarkUser.class);
+    }
+
+    /**
+     * Selects all the users, mapping them.
+     *
+     * @return The amount of users.
+     *
+     * @throws SQLException Problems to execute the query.
+     */
+    @Benchmark
+    public int selectAll() throws SQLException {
+        return users.select().execute().toList(BenchmarkUser.class).size();
+    }
+}
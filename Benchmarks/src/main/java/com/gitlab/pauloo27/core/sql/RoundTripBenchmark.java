@@ -0,0 +1,142 @@
+package com.gitlab.pauloo27.core.sql;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the statements executed end to end (build, bind, execute and map) in an in-memory database and in a
+ * database file.
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoundTripBenchmark {
+
+    /**
+     * The amount of rows in the table.
+     */
+    private static final int ROWS = 1000;
+
+    /**
+     * The database storage.
+     */
+    @Param({BenchmarkDatabase.MEMORY, BenchmarkDatabase.FILE})
+    public String storage;
+
+    /**
+     * The EzSQL.
+     */
+    private EzSQLite sql;
+    /**
+     * The users table.
+     */
+    private SQLiteTable users;
+    /**
+     * The select by id, compiled once.
+     */
+    private CompiledQuery<QueryResult> byId;
+    /**
+     * The id of the next selected or updated user.
+     */
+    private int nextId;
+
+    /**
+     * Creates and fills the users table.
+     *
+     * @throws SQLException Problems to create the table.
+     * @throws IOException  Problems to open the database.
+     */
+    @Setup
+    public void setUp() throws SQLException, IOException {
+        sql = BenchmarkDatabase.open(storage);
+        users = BenchmarkDatabase.createUsers(sql, ROWS);
+        byId = users.select().where().equals("id", 0).compile();
+    }
+
+    /**
+     * Disconnects from the database.
+     *
+     * @throws SQLException Problems to disconnect.
+     */
+    @TearDown
+    public void tearDown() throws SQLException {
+        sql.disconnect();
+    }
+
+    /**
+     * Selects a user by the id.
+     *
+     * @return The user.
+     */
+    @Benchmark
+    public BenchmarkUser selectById() {
+        return users.select().where().equals("id", nextId()).execute().to(BenchmarkUser.class);
+    }
+
+    /**
+     * Selects a user by the id with a compiled query.
+     *
+     * @return The user.
+     *
+     * @throws SQLException Problems to execute the query.
+     */
+    @Benchmark
+    public BenchmarkUser compiledSelectById() throws SQLException {
+        return byId.execute(nextId()).to(BenchmarkUser.class);
+    }
+
+    /**
+     * Updates the age of a user.
+     *
+     * @return The updated rows.
+     *
+     * @throws SQLException Problems to close the result.
+     */
+    @Benchmark
+    public int updateById() throws SQLException {
+        try (UpdateResult result = users.update().set("age", 30).where().equals("id", nextId()).execute()) {
+            return result.getUpdatedRows();
+        }
+    }
+
+    /**
+     * Counts the users.
+     *
+     * @return The amount of users.
+     */
+    @Benchmark
+    public int count() {
+        return users.count().execute().getFirstColumnAsInt();
+    }
+
+    /**
+     * Gets the id of the next user, cycling through the table.
+     *
+     * @return An existing user id.
+     */
+    private int nextId() {
+        nextId = nextId % ROWS + 1;
+        return nextId;
+    }
+}
@@ -0,0 +1,158 @@
+package com.gitlab.pauloo27.core.sql;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the SQLite performance profiles in a database file. Each insert and update commits on its own, so the
+ * writes show the cost of the journal and of the disk syncs:
+ * <pre>
+ * mvn -pl Benchmarks -am package -DskipTests -Dmaven.javadoc.skip=true
+ * java -jar Benchmarks/target/benchmarks.jar SQLiteProfileBenchmark
+ * </pre>
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SQLiteProfileBenchmark {
+
+    /**
+     * The amount of rows in the table.
+     */
+    private static final int ROWS = 1000;
+
+    /**
+     * The performance profile: {@code default} (no pragmas), {@code durable} or {@code throughput}.
+     */
+    @Param({"default", "durable", "throughput"})
+    public String profile;
+
+    /**
+     * The EzSQL.
+     */
+    private EzSQLite sql;
+    /**
+     * The users table.
+     */
+    private SQLiteTable users;
+    /**
+     * The select by id, compiled once.
+     */
+    private CompiledQuery<QueryResult> byId;
+    /**
+     * The id of the next selected or updated user.
+     */
+    private int nextId;
+    /**
+     * The index of the next inserted user.
+     */
+    private int nextInsert = ROWS;
+
+    /**
+     * Creates and fills the users table.
+     *
+     * @throws SQLException Problems to create the table.
+     * @throws IOException  Problems to open the database.
+     */
+    @Setup
+    public void setUp() throws SQLException, IOException {
+        sql = BenchmarkDatabase.open(BenchmarkDatabase.FILE, createProfile(profile));
+        users = BenchmarkDatabase.createUsers(sql, ROWS);
+        byId = users.select().where().equals("id", 0).compile();
+    }
+
+    /**
+     * Disconnects from the database.
+     *
+     * @throws SQLException Problems to disconnect.
+     */
+    @TearDown
+    public void tearDown() throws SQLException {
+        sql.disconnect();
+    }
+
+    /**
+     * Inserts a user, in its own transaction.
+     */
+    @Benchmark
+    public void insert() {
+        users.insert(new BenchmarkUser(nextInsert++)).executeAndClose();
+    }
+
+    /**
+     * Updates the age of a user, in its own transaction.
+     *
+     * @return The updated rows.
+     *
+     * @throws SQLException Problems to close the result.
+     */
+    @Benchmark
+    public int updateById() throws SQLException {
+        try (UpdateResult result = users.update().set("age", 30).where().equals("id", nextId()).execute()) {
+            return result.getUpdatedRows();
+        }
+    }
+
+    /**
+     * Selects a user by the id with a compiled query.
+     *
+     * @return The user.
+     *
+     * @throws SQLException Problems to execute the query.
+     */
+    @Benchmark
+    public BenchmarkUser selectById() throws SQLException {
+        return byId.execute(nextId()).to(BenchmarkUser.class);
+    }
+
+    /**
+     * Creates a profile by its name.
+     *
+     * @param name {@code default}, {@code durable} or {@code throughput}.
+     *
+     * @return The profile or null to the SQLite defaults.
+     */
+    private static SQLitePerformanceProfile createProfile(String name) {
+        switch (name) {
+            case "default":
+                return null;
+            case "durable":
+                return SQLitePerformanceProfile.durable();
+            case "throughput":
+                return SQLitePerformanceProfile.throughput();
+            default:
+                throw new IllegalArgumentException("Unknown profile " + name);
+        }
+    }
+
+    /**
+     * Gets the id of the next user, cycling through the initial users.
+     *
+     * @return An existing user id.
+     */
+    private int nextId() {
+        nextId = nextId % ROWS + 1;
+        return nextId;
+    }
+}
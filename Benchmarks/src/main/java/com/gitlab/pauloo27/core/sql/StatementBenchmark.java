@@ -0,0 +1,109 @@
+package com.gitlab.pauloo27.core.sql;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the statement builders: building a select, converting it to SQL and preparing it, without executing it.
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatementBenchmark {
+
+    /**
+     * The EzSQL connected to an in-memory database.
+     */
+    private EzSQLite sql;
+    /**
+     * The users table.
+     */
+    private SQLiteTable users;
+
+    /**
+     * Creates the users table.
+     *
+     * @throws SQLException Problems to create the table.
+     * @throws IOException  Problems to open the database.
+     */
+    @Setup
+    public void setUp() throws SQLException, IOException {
+        sql = BenchmarkDatabase.open(BenchmarkDatabase.MEMORY);
+        users = BenchmarkDatabase.createUsers(sql, 0);
+    }
+
+    /**
+     * Disconnects from the database.
+     *
+     * @throws SQLException Problems to disconnect.
+     */
+    @TearDown
+    public void tearDown() throws SQLException {
+        sql.disconnect();
+    }
+
+    /**
+     * Builds a select with a where condition, an order and a limit.
+     *
+     * @return The select statement.
+     */
+    @Benchmark
+    public Select build() {
+        return select();
+    }
+
+    /**
+     * Builds a select and converts it to SQL.
+     *
+     * @return The SQL.
+     */
+    @Benchmark
+    public String toSQL() {
+        return sql.toSQL(select(), users);
+    }
+
+    /**
+     * Builds a select, converts it to SQL and prepares it with the parameters.
+     *
+     * @throws SQLException Problems to prepare the statement.
+     */
+    @Benchmark
+    public void prepare() throws SQLException {
+        PreparedStatement statement = sql.build(select(), users);
+        statement.close();
+    }
+
+    /**
+     * Builds the select used by the benchmarks.
+     *
+     * @return The select statement.
+     */
+    private Select select() {
+        return users.select("name, email")
+                .where().atLeast("age", 18)
+                .and().equals("active", true)
+                .orderBy("name", StatementBase.OrderByType.ASC)
+                .limit(10);
+    }
+}
@@ -0,0 +1,161 @@
+package com.gitlab.pauloo27.core.sql;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Creates the EzSQL Java Flight Recorder events with the JFR API. It's only compiled by a JDK that has the
+ * {@code jdk.jfr} module and only loaded (by name, from {@link FlightRecorderEvents}) if the JVM has it.
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+final class FlightRecorderEventSink implements FlightRecorderEvents.Sink {
+
+    @Override
+    public Object beginExecute() {
+        return begin(new ExecuteEvent());
+    }
+
+    @Override
+    public void commitExecute(Object started, String table, String statementType, long rows) {
+        ExecuteEvent event = (ExecuteEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.table = table;
+            event.statementType = statementType;
+            event.rows = rows;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object beginMap() {
+        return begin(new MapEvent());
+    }
+
+    @Override
+    public void commitMap(Object started, String table, Class<?> type, long rows) {
+        MapEvent event = (MapEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.table = table;
+            event.type = type;
+            event.rows = rows;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object beginPoolWait() {
+        return begin(new PoolWaitEvent());
+    }
+
+    @Override
+    public void commitPoolWait(Object started, int borrowed, int size) {
+        PoolWaitEvent event = (PoolWaitEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.borrowed = borrowed;
+            event.size = size;
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts an event.
+     *
+     * @param event The event.
+     *
+     * @return The started event or null if the event is disabled.
+     */
+    private static Object begin(Event event) {
+        if (!event.isEnabled())
+            return null;
+
+        event.begin();
+        return event;
+    }
+
+    /**
+     * A statement built and executed.
+     */
+    @Name("ezsql.Execute")
+    @Label("EzSQL Execute")
+    @Category("EzSQL")
+    @Description("A statement built, bound and executed")
+    static class ExecuteEvent extends Event {
+
+        /**
+         * The table name.
+         */
+        @Label("Table")
+        String table;
+
+        /**
+         * The statement type.
+         */
+        @Label("Statement Type")
+        String statementType;
+
+        /**
+         * The updated rows or -1 if unknown.
+         */
+        @Label("Rows")
+        long rows;
+    }
+
+    /**
+     * A query result mapped to objects.
+     */
+    @Name("ezsql.Map")
+    @Label("EzSQL Map")
+    @Category("EzSQL")
+    @Description("A query result mapped to objects")
+    static class MapEvent extends Event {
+
+        /**
+         * The table name of the model.
+         */
+        @Label("Table")
+        String table;
+
+        /**
+         * The model class.
+         */
+        @Label("Type")
+        Class<?> type;
+
+        /**
+         * The mapped rows.
+         */
+        @Label("Rows")
+        long rows;
+    }
+
+    /**
+     * A connection borrowed from the pool.
+     */
+    @Name("ezsql.PoolWait")
+    @Label("EzSQL Pool Wait")
+    @Category("EzSQL")
+    @Description("A connection borrowed from the pool, waiting for a free one if needed")
+    static class PoolWaitEvent extends Event {
+
+        /**
+         * The amount of borrowed connections, after borrowing.
+         */
+        @Label("Borrowed Connections")
+        int borrowed;
+
+        /**
+         * The amount of open connections (idle or borrowed).
+         */
+        @Label("Open Connections")
+        int size;
+    }
+}
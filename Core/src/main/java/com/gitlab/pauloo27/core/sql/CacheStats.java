@@ -0,0 +1,90 @@
+package com.gitlab.pauloo27.core.sql;
+
+/**
+ * A snapshot of the counters of a cache.
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+public class CacheStats {
+
+    /**
+     * The number of lookups that found a cached value.
+     */
+    private final long hits;
+    /**
+     * The number of lookups that didn't find a cached value.
+     */
+    private final long misses;
+    /**
+     * The number of values removed to respect the cache size.
+     */
+    private final long evictions;
+
+    /**
+     * Builds a cache stats snapshot.
+     *
+     * @param hits      The number of lookups that found a cached value.
+     * @param misses    The number of lookups that didn't find a cached value.
+     * @param evictions The number of values removed to respect the cache size.
+     */
+    public CacheStats(long hits, long misses, long evictions) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    /**
+     * Gets the number of lookups that found a cached value.
+     *
+     * @return The hit count.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of lookups that didn't find a cached value.
+     *
+     * @return The miss count.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of values removed to respect the cache size.
+     *
+     * @return The eviction count.
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Gets the ratio of lookups that found a cached value.
+     *
+     * @return The hit rate, from 0 to 1. If there's no lookups, returns 0.
+     */
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * Sums two snapshots.
+     *
+     * @param other The other snapshot.
+     *
+     * @return A snapshot with the sum of the counters.
+     */
+    public CacheStats plus(CacheStats other) {
+        return new CacheStats(hits + other.hits, misses + other.misses, evictions + other.evictions);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("{hits: %d, misses: %d, evictions: %d}", hits, misses, evictions);
+    }
+}
@@ -0,0 +1,67 @@
+package com.gitlab.pauloo27.core.sql;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A name converter that remembers the converted names of other converter, so each distinct class and field name is
+ * converted once.
+ * <p>
+ * The wrapped converter must always return the same name to the same input.
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+public class CachingNameConverter implements NameConverter {
+
+    /**
+     * The wrapped name converter.
+     */
+    private final NameConverter converter;
+    /**
+     * The converted table names, by class name.
+     */
+    private final Map<String, String> tableNames = new ConcurrentHashMap<>();
+    /**
+     * The converted column names, by field name.
+     */
+    private final Map<String, String> columnNames = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a caching name converter.
+     *
+     * @param converter The name converter to cache.
+     */
+    public CachingNameConverter(NameConverter converter) {
+        Preconditions.checkNotNull(converter, "Name converter cannot be null");
+        this.converter = converter;
+    }
+
+    /**
+     * Gets the wrapped name converter.
+     *
+     * @return The name converter that converts the names not cached.
+     */
+    public NameConverter getConverter() {
+        return converter;
+    }
+
+    @Override
+    public String toTableName(String className) {
+        if (className == null)
+            return converter.toTableName(null);
+
+        return tableNames.computeIfAbsent(className, converter::toTableName);
+    }
+
+    @Override
+    public String toColumnName(String fieldName) {
+        if (fieldName == null)
+            return converter.toColumnName(null);
+
+        return columnNames.computeIfAbsent(fieldName, converter::toColumnName);
+    }
+}
@@ -0,0 +1,117 @@
+package com.gitlab.pauloo27.core.sql;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Reads a column of the current row to a model field. The typed readers use the getter of the field type ({@link
+ * ResultSet#getInt(int)}, for example) and the primitive setters of the {@link FieldAccessor}, so the value is not
+ * boxed and deserialized like with {@link ResultSet#getObject(int)}.
+ * <p>
+ * The null values are skipped, keeping the field default value.
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+@FunctionalInterface
+public interface ColumnReader {
+
+    /**
+     * Creates a typed reader to a field.
+     *
+     * @param type     The field type.
+     * @param accessor The field accessor.
+     *
+     * @return The typed reader or null if there's no typed reader to the field type.
+     */
+    static ColumnReader of(Class<?> type, FieldAccessor accessor) {
+        if (type == int.class || type == Integer.class) {
+            boolean primitive = type.isPrimitive();
+            return (result, index, object) -> {
+                int value = result.getInt(index);
+                if (result.wasNull())
+                    return;
+
+                if (primitive)
+                    accessor.setInt(object, value);
+                else
+                    accessor.set(object, value);
+            };
+        }
+
+        if (type == long.class || type == Long.class) {
+            boolean primitive = type.isPrimitive();
+            return (result, index, object) -> {
+                long value = result.getLong(index);
+                if (result.wasNull())
+                    return;
+
+                if (primitive)
+                    accessor.setLong(object, value);
+                else
+                    accessor.set(object, value);
+            };
+        }
+
+        if (type == double.class || type == Double.class) {
+            boolean primitive = type.isPrimitive();
+            return (result, index, object) -> {
+                double value = result.getDouble(index);
+                if (result.wasNull())
+                    return;
+
+                if (primitive)
+                    accessor.setDouble(object, value);
+                else
+                    accessor.set(object, value);
+            };
+        }
+
+        if (type == boolean.class || type == Boolean.class) {
+            return (result, index, object) -> {
+                boolean value = result.getBoolean(index);
+                if (!result.wasNull())
+                    accessor.set(object, value);
+            };
+        }
+
+        if (type == String.class) {
+            return (result, index, object) -> {
+                String value = result.getString(index);
+                if (value != null)
+                    accessor.set(object, value);
+            };
+        }
+
+        if (type == byte[].class) {
+            return (result, index, object) -> {
+                byte[] value = result.getBytes(index);
+                if (value != null)
+                    accessor.set(object, value);
+            };
+        }
+
+        if (type == Timestamp.class) {
+            return (result, index, object) -> {
+                Timestamp value = result.getTimestamp(index);
+                if (value != null)
+                    accessor.set(object, value);
+            };
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads a column of the current row to the field of an object.
+     *
+     * @param result The result, already positioned in the row.
+     * @param index  The column index, starting with 1.
+     * @param object The object to fill.
+     *
+     * @throws SQLException Problems to read the column.
+     */
+    void read(ResultSet result, int index, Object object) throws SQLException;
+}
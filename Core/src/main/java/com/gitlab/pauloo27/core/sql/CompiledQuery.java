@@ -0,0 +1,168 @@
+package com.gitlab.pauloo27.core.sql;
+
+import com.google.common.base.Preconditions;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A statement converted to SQL once, to be executed many times with the same or with other parameters, without
+ * building the SQL again. It's immutable and can be shared between threads; each execution prepares its own statement
+ * (use {@link EzSQL#withStatementCache(int)} to reuse the prepared statements too).
+ *
+ * @param <R> The statement result class.
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+public class CompiledQuery<R extends Result> {
+
+    /**
+     * The EzSQL connection.
+     */
+    private final EzSQL sql;
+    /**
+     * The SQL.
+     */
+    private final String statement;
+    /**
+     * The table name, sent to the query listeners.
+     */
+    private final String table;
+    /**
+     * The parameters used when the statement was compiled.
+     */
+    private final List<Object> parameters;
+    /**
+     * The amount of rows fetched by the driver at once. Zero uses the driver default.
+     */
+    private final int fetchSize;
+    /**
+     * The result factory.
+     */
+    private final ResultFactory<R> resultFactory;
+
+    /**
+     * Creates a compiled query.
+     *
+     * @param sql           The EzSQL connection.
+     * @param statement     The SQL with a {@code ?} for each parameter.
+     * @param table         The table name.
+     * @param parameters    The parameters used when the statement was compiled.
+     * @param fetchSize     The fetch size or zero to the driver default.
+     * @param resultFactory The result factory, that executes the statement.
+     */
+    CompiledQuery(EzSQL sql, String statement, String table, List<Object> parameters, int fetchSize, ResultFactory<R> resultFactory) {
+        this.sql = sql;
+        this.statement = statement;
+        this.table = table;
+        this.parameters = Collections.unmodifiableList(new ArrayList<>(parameters));
+        this.fetchSize = fetchSize;
+        this.resultFactory = resultFactory;
+    }
+
+    /**
+     * Gets the SQL.
+     *
+     * @return The SQL with a {@code ?} for each parameter.
+     */
+    public String getSQL() {
+        return statement;
+    }
+
+    /**
+     * Gets the parameters used when the statement was compiled.
+     *
+     * @return The unmodifiable parameter list.
+     */
+    public List<Object> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Gets the amount of parameters.
+     *
+     * @return The amount of {@code ?} in the SQL.
+     */
+    public int getParameterCount() {
+        return parameters.size();
+    }
+
+    /**
+     * Executes the statement with the parameters used when it was compiled.
+     *
+     * @return The statement result.
+     *
+     * @throws SQLException Problems to execute the statement.
+     */
+    public R execute() throws SQLException {
+        return executeWith(parameters);
+    }
+
+    /**
+     * Executes the statement with other parameters, in the same order of the compiled ones (the IN conditions have one
+     * parameter per value).
+     *
+     * @param parameters The parameters.
+     *
+     * @return The statement result.
+     *
+     * @throws SQLException Problems to execute the statement.
+     */
+    public R execute(Object... parameters) throws SQLException {
+        Preconditions.checkArgument(parameters.length == this.parameters.size(),
+                "The query has %s parameters, got %s", this.parameters.size(), parameters.length);
+        return executeWith(Arrays.asList(parameters));
+    }
+
+    /**
+     * Prepares, binds and executes the statement.
+     *
+     * @param values The parameters.
+     *
+     * @return The statement result.
+     *
+     * @throws SQLException Problems to execute the statement.
+     */
+    private R executeWith(List<Object> values) throws SQLException {
+        if (!sql.isConnected()) throw new SQLException("Not connected.");
+
+        PreparedStatement prepared = sql.prepare(statement, table);
+        try {
+            if (fetchSize > 0)
+                sql.applyFetchSize(prepared, fetchSize);
+
+            sql.setValuesObjects(prepared, new AtomicInteger(), values);
+        } catch (SQLException | RuntimeException e) {
+            sql.discard(prepared, e);
+            throw e;
+        }
+        return resultFactory.create(sql, prepared);
+    }
+
+    /**
+     * Creates the result of a statement, executing it.
+     *
+     * @param <R> The result class.
+     */
+    @FunctionalInterface
+    public interface ResultFactory<R extends Result> {
+        /**
+         * Executes the statement and creates the result.
+         *
+         * @param sql       The EzSQL connection.
+         * @param statement The bound statement.
+         *
+         * @return The result.
+         *
+         * @throws SQLException Problems to execute the statement.
+         */
+        R create(EzSQL sql, PreparedStatement statement) throws SQLException;
+    }
+}
@@ -0,0 +1,66 @@
+package com.gitlab.pauloo27.core.sql;
+
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A connection got to run a statement, given back with {@link #release()}. The lease records how the connection was
+ * got, so giving it back only undoes that acquisition: a lease of a connection pinned to a transaction gives back
+ * nothing, and a lease released twice or after the connection was borrowed again by other thread does nothing.
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+public final class ConnectionLease {
+
+    /**
+     * The connection.
+     */
+    private final Connection connection;
+    /**
+     * Gives back the connection. It's null if there's nothing to give back (a shared or pinned connection).
+     */
+    private final Runnable release;
+    /**
+     * If the lease was released.
+     */
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    /**
+     * Creates a lease.
+     *
+     * @param connection The connection.
+     * @param release    Gives back the connection, called once by {@link #release()}. It's nullable.
+     */
+    public ConnectionLease(Connection connection, Runnable release) {
+        this.connection = connection;
+        this.release = release;
+    }
+
+    /**
+     * Gets the connection.
+     *
+     * @return The connection.
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Checks if the connection is owned by this lease.
+     *
+     * @return False if the connection is shared or pinned to a transaction, so releasing the lease does nothing.
+     */
+    public boolean isOwned() {
+        return release != null;
+    }
+
+    /**
+     * Gives back the connection. Only the first call has effect.
+     */
+    public void release() {
+        if (release != null && released.compareAndSet(false, true))
+            release.run();
+    }
+}
@@ -0,0 +1,623 @@
+package com.gitlab.pauloo27.core.sql;
+
+import com.google.common.base.Preconditions;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * A simple bounded connection pool. The statements borrow a connection when executed and give it back when the result
+ * is closed.
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    /**
+     * The time (in milliseconds) that a idle connection can wait without being validated when borrowed.
+     */
+    private static final long VALIDATION_INTERVAL = 1000;
+    /**
+     * The timeout (in seconds) used to validate a connection.
+     */
+    private static final int VALIDATION_TIMEOUT = 1;
+
+    /**
+     * The factory used to open new connections.
+     */
+    private final ConnectionFactory factory;
+    /**
+     * The minimum number of open connections.
+     */
+    private final int minSize;
+    /**
+     * The maximum number of open connections.
+     */
+    private final int maxSize;
+    /**
+     * The time (in milliseconds) that a connection can be idle before being closed.
+     */
+    private final long idleTimeout;
+    /**
+     * The maximum time (in milliseconds) to wait for a free connection.
+     */
+    private long borrowTimeout = 30_000;
+    /**
+     * The time (in milliseconds) that a connection can be borrowed before being reported as a leak. Disabled if less
+     * or equals to 0.
+     */
+    private long leakDetectionThreshold;
+    /**
+     * Notified when a connection is closed by the pool.
+     */
+    private Consumer<Connection> discardListener;
+
+    /**
+     * The pool lock.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * Signaled when a connection is released.
+     */
+    private final Condition released = lock.newCondition();
+    /**
+     * The idle connections, the most recently used first.
+     */
+    private final Deque<IdleConnection> idle = new ArrayDeque<>();
+    /**
+     * The borrowed connections.
+     */
+    private final Map<Connection, BorrowedConnection> borrowed = new IdentityHashMap<>();
+    /**
+     * The number of open connections (idle, borrowed or being opened).
+     */
+    private int size;
+    /**
+     * The id of the last borrow, to tell the borrows of the same connection apart.
+     */
+    private long lastBorrowId;
+    /**
+     * If the pool is closed.
+     */
+    private boolean closed;
+    /**
+     * The periodic eviction of the idle connections. It's null if the idle timeout is disabled.
+     */
+    private final ScheduledFuture<?> sweep;
+
+    /**
+     * Builds a connection pool and opens the minimum number of connections.
+     *
+     * @param factory     The factory used to open new connections.
+     * @param minSize     The minimum number of open connections.
+     * @param maxSize     The maximum number of open connections.
+     * @param idleTimeout The time (in milliseconds) that a connection can be idle before being closed.
+     *
+     * @throws SQLException Problems to open the connections.
+     */
+    public ConnectionPool(ConnectionFactory factory, int minSize, int maxSize, long idleTimeout) throws SQLException {
+        Preconditions.checkNotNull(factory, "The connection factory cannot be null");
+        Preconditions.checkArgument(minSize >= 0, "The minimum size cannot be negative");
+        Preconditions.checkArgument(maxSize > 0 && maxSize >= minSize, "The maximum size should be positive and not less than the minimum size");
+
+        this.factory = factory;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeout = idleTimeout;
+
+        try {
+            for (int i = 0; i < minSize; i++) {
+                idle.push(new IdleConnection(factory.create()));
+                size++;
+            }
+        } catch (SQLException | RuntimeException e) {
+            // the pool isn't returned, so the connections opened before the failure are closed here
+            for (IdleConnection connection : idle) {
+                try {
+                    connection.connection.close();
+                } catch (SQLException closeException) {
+                    e.addSuppressed(closeException);
+                }
+            }
+            idle.clear();
+            size = 0;
+            throw e;
+        }
+
+        // the idle connections also expire when the pool isn't used
+        this.sweep = idleTimeout <= 0 ? null
+                : Sweeper.INSTANCE.scheduleWithFixedDelay(this::sweep, idleTimeout, idleTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sets the maximum time to wait for a free connection. The default is 30 seconds.
+     *
+     * @param borrowTimeout The timeout in milliseconds.
+     *
+     * @return The current object instance.
+     */
+    public ConnectionPool withBorrowTimeout(long borrowTimeout) {
+        this.borrowTimeout = borrowTimeout;
+        return this;
+    }
+
+    /**
+     * Sets the time that a connection can be borrowed before being reported as a leak. When enabled, the stack trace of
+     * the borrower is recorded and printed when the leak is detected.
+     *
+     * @param leakDetectionThreshold The threshold in milliseconds. Use 0 to disable it (the default).
+     *
+     * @return The current object instance.
+     */
+    public ConnectionPool withLeakDetection(long leakDetectionThreshold) {
+        this.leakDetectionThreshold = leakDetectionThreshold;
+        return this;
+    }
+
+    /**
+     * Sets a listener notified when a connection is closed by the pool, like a broken or idle connection.
+     *
+     * @param discardListener The listener.
+     *
+     * @return The current object instance.
+     */
+    public ConnectionPool withDiscardListener(Consumer<Connection> discardListener) {
+        this.discardListener = discardListener;
+        return this;
+    }
+
+    /**
+     * Borrows a connection, waiting up to the borrow timeout if all the connections are in use. Use {@link
+     * #release(Connection)} to give it back.
+     *
+     * @return The borrowed connection.
+     *
+     * @throws SQLException If the pool is closed, the timeout is reached or the connection cannot be opened.
+     */
+    public Connection borrow() throws SQLException {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(borrowTimeout);
+
+        lock.lock();
+        try {
+            // without releases the idle connections would only expire under traffic
+            evictIdle();
+            while (true) {
+                if (closed) throw new SQLException("The connection pool is closed");
+
+                IdleConnection candidate = idle.poll();
+                if (candidate != null) {
+                    lock.unlock();
+                    Connection connection;
+                    try {
+                        connection = validate(candidate);
+                    } finally {
+                        lock.lock();
+                    }
+
+                    if (connection != null)
+                        return markBorrowed(connection);
+
+                    // the connection was broken, so another one can be opened
+                    size--;
+                    continue;
+                }
+
+                if (size < maxSize) {
+                    size++;
+                    lock.unlock();
+                    Connection connection;
+                    try {
+                        connection = factory.create();
+                    } catch (SQLException | RuntimeException e) {
+                        lock.lock();
+                        size--;
+                        released.signal();
+                        throw e;
+                    }
+                    lock.lock();
+                    return markBorrowed(connection);
+                }
+
+                reportLeaks();
+
+                if (remaining <= 0)
+                    throw new SQLException("Timeout waiting for a free connection (" + maxSize + " in use)");
+
+                try {
+                    remaining = released.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for a free connection", e);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Borrows a connection like {@link #borrow()}, returning a lease bound to this borrow. Releasing the lease after the
+     * connection was given back (and maybe borrowed by other thread) does nothing.
+     *
+     * @return The lease of the borrowed connection.
+     *
+     * @throws SQLException If the pool is closed, the timeout is reached or the connection cannot be opened.
+     */
+    public ConnectionLease lease() throws SQLException {
+        Connection connection = borrow();
+        long borrowId;
+        lock.lock();
+        try {
+            borrowId = borrowed.get(connection).id;
+        } finally {
+            lock.unlock();
+        }
+        return new ConnectionLease(connection, () -> release(connection, borrowId));
+    }
+
+    /**
+     * Gives a borrowed connection back to the pool. Connections that are not borrowed from this pool (or that were
+     * already released) are ignored. Connections left with an open transaction are rolled back and broken connections
+     * are discarded.
+     *
+     * @param connection The borrowed connection.
+     */
+    public void release(Connection connection) {
+        release(connection, -1);
+    }
+
+    /**
+     * Gives a borrowed connection back to the pool, if it's still borrowed by the given borrow.
+     *
+     * @param connection The borrowed connection.
+     * @param borrowId   The borrow id or -1 to release the current borrow.
+     */
+    private void release(Connection connection, long borrowId) {
+        if (connection == null)
+            return;
+
+        lock.lock();
+        try {
+            BorrowedConnection borrow = borrowed.get(connection);
+            // a stale borrower doesn't release the connection of the current one
+            if (borrow == null || (borrowId != -1 && borrow.id != borrowId))
+                return;
+            borrowed.remove(connection);
+        } finally {
+            lock.unlock();
+        }
+
+        boolean reusable = reset(connection);
+
+        lock.lock();
+        try {
+            if (reusable && !closed) {
+                idle.push(new IdleConnection(connection));
+            } else {
+                size--;
+                discard(connection);
+            }
+            evictIdle();
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks if a connection is borrowed from this pool.
+     *
+     * @param connection The connection.
+     *
+     * @return If the connection is borrowed from this pool.
+     */
+    public boolean isBorrowed(Connection connection) {
+        lock.lock();
+        try {
+            return borrowed.containsKey(connection);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of open connections.
+     *
+     * @return The number of open connections.
+     */
+    public int getSize() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of borrowed connections.
+     *
+     * @return The number of borrowed connections.
+     */
+    public int getBorrowedCount() {
+        lock.lock();
+        try {
+            return borrowed.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of idle connections.
+     *
+     * @return The number of idle connections.
+     */
+    public int getIdleCount() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks if the pool is closed.
+     *
+     * @return If the pool is closed.
+     */
+    public boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the idle connections. The borrowed connections are closed when released.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            if (sweep != null)
+                sweep.cancel(false);
+            idle.forEach(connection -> discard(connection.connection));
+            size -= idle.size();
+            idle.clear();
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Registers a connection as borrowed. Must be called with the lock held.
+     *
+     * @param connection The connection.
+     *
+     * @return The connection.
+     */
+    private Connection markBorrowed(Connection connection) {
+        Throwable borrower = leakDetectionThreshold > 0 ? new Throwable("Connection borrowed here") : null;
+        borrowed.put(connection, new BorrowedConnection(++lastBorrowId, System.currentTimeMillis(), borrower));
+        return connection;
+    }
+
+    /**
+     * Validates an idle connection if it's idle for too long.
+     *
+     * @param candidate The idle connection.
+     *
+     * @return The connection or null if it's broken.
+     */
+    private Connection validate(IdleConnection candidate) {
+        if (System.currentTimeMillis() - candidate.idleSince < VALIDATION_INTERVAL)
+            return candidate.connection;
+
+        try {
+            if (candidate.connection.isValid(VALIDATION_TIMEOUT))
+                return candidate.connection;
+        } catch (SQLException ignored) {
+        }
+
+        discard(candidate.connection);
+        return null;
+    }
+
+    /**
+     * Resets a released connection, so the next borrower gets a clean one.
+     *
+     * @param connection The connection.
+     *
+     * @return If the connection can be reused.
+     */
+    private boolean reset(Connection connection) {
+        try {
+            if (connection.isClosed())
+                return false;
+
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Closes the connections that are idle for too long, called periodically by the sweeper.
+     */
+    private void sweep() {
+        lock.lock();
+        try {
+            evictIdle();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the connections that are idle for too long, keeping the minimum size. Must be called with the lock held.
+     */
+    private void evictIdle() {
+        if (idleTimeout <= 0)
+            return;
+
+        long now = System.currentTimeMillis();
+        // the oldest connections are in the end of the deque
+        Iterator<IdleConnection> iterator = idle.descendingIterator();
+        while (iterator.hasNext() && size > minSize) {
+            IdleConnection connection = iterator.next();
+            if (now - connection.idleSince < idleTimeout)
+                break;
+
+            iterator.remove();
+            size--;
+            discard(connection.connection);
+        }
+    }
+
+    /**
+     * Prints the stack trace of the connections borrowed for longer than the leak detection threshold. Each leak is
+     * reported once. Must be called with the lock held.
+     */
+    private void reportLeaks() {
+        if (leakDetectionThreshold <= 0)
+            return;
+
+        long now = System.currentTimeMillis();
+        borrowed.values().forEach(connection -> {
+            if (connection.borrower == null || connection.reported || now - connection.borrowedAt < leakDetectionThreshold)
+                return;
+
+            connection.reported = true;
+            new SQLException("Possible connection leak: borrowed for " + (now - connection.borrowedAt) + "ms",
+                    connection.borrower).printStackTrace();
+        });
+    }
+
+    /**
+     * Closes a connection ignoring the exceptions and notifies the discard listener.
+     *
+     * @param connection The connection to close.
+     */
+    private void discard(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+
+        if (discardListener != null)
+            discardListener.accept(connection);
+    }
+
+    /**
+     * The thread that evicts the idle connections of the pools, created in the first use.
+     */
+    private static class Sweeper {
+        /**
+         * The scheduler, with a single daemon thread.
+         */
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "EzSQL-pool-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens the pool connections.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+
+        /**
+         * Opens a new connection.
+         *
+         * @return The new connection.
+         *
+         * @throws SQLException Problems to connect.
+         */
+        Connection create() throws SQLException;
+    }
+
+    /**
+     * A connection waiting to be borrowed.
+     */
+    private static class IdleConnection {
+        /**
+         * The connection.
+         */
+        private final Connection connection;
+        /**
+         * When the connection was released.
+         */
+        private final long idleSince = System.currentTimeMillis();
+
+        /**
+         * Builds a idle connection.
+         *
+         * @param connection The connection.
+         */
+        private IdleConnection(Connection connection) {
+            this.connection = connection;
+        }
+    }
+
+    /**
+     * A borrowed connection information.
+     */
+    private static class BorrowedConnection {
+        /**
+         * The borrow id.
+         */
+        private final long id;
+        /**
+         * When the connection was borrowed.
+         */
+        private final long borrowedAt;
+        /**
+         * The borrower stack trace, null if the leak detection is disabled.
+         */
+        private final Throwable borrower;
+        /**
+         * If the leak was already reported.
+         */
+        private boolean reported;
+
+        /**
+         * Builds a borrowed connection information.
+         *
+         * @param id         The borrow id.
+         * @param borrowedAt When the connection was borrowed.
+         * @param borrower   The borrower stack trace.
+         */
+        private BorrowedConnection(long id, long borrowedAt, Throwable borrower) {
+            this.id = id;
+            this.borrowedAt = borrowedAt;
+            this.borrower = borrower;
+        }
+    }
+}
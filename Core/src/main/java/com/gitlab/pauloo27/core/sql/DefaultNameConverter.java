@@ -14,6 +14,11 @@ import java.util.regex.Pattern;
  */
 public class DefaultNameConverter implements NameConverter {
 
+    /**
+     * The pattern of each word of a camel case String.
+     */
+    private static final Pattern WORD_PATTERN = Pattern.compile("[A-Z][a-z]*|[a-z]+");
+
     /**
      * Converts a String from camel case to snake case.
      *
@@ -25,8 +30,7 @@ public class DefaultNameConverter implements NameConverter {
         if (string == null)
             return null;
 
-        Pattern pattern = Pattern.compile("[A-Z][a-z]*|[a-z]+");
-        Matcher matcher = pattern.matcher(string);
+        Matcher matcher = WORD_PATTERN.matcher(string);
 
         StringBuilder convertedString = new StringBuilder();
         boolean first = true;
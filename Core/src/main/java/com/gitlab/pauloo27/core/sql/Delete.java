@@ -34,6 +34,11 @@ public class Delete extends UpdateStatementBase<Delete> {
         return String.format("DELETE FROM ${table} %s;", super.toString());
     }
 
+    @Override
+    String toSQL() {
+        return sql.toSQL(this, table);
+    }
+
     @Override
     protected UpdateResult getResultType() throws SQLException {
         return new UpdateResult(sql, sql.build(this, table));
@@ -0,0 +1,231 @@
+package com.gitlab.pauloo27.core.sql;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A LRU cache of the objects of a table, keyed by their id, used by {@link Table#findById(Class, Object)}. The cached
+ * objects expire after a time to live and are invalidated by the updates and deletes of the table executed through the
+ * same EzSQL (see {@link EzSQL#withEntityCache(String, int, long, TimeUnit)}).
+ * <p>
+ * The cache keeps a copy of the field values, so changing a returned object doesn't change the cache (the field values
+ * themselves aren't copied, it's a shallow copy). The integer ids are stored as longs, so an {@code int} and a {@code
+ * long} id find the same object.
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+public class EntityCache {
+
+    /**
+     * The maximum number of cached objects.
+     */
+    private final int maxSize;
+    /**
+     * The time (in nanoseconds) that a object stays cached.
+     */
+    private final long timeToLive;
+    /**
+     * The cached objects by the id, the least recently used first.
+     */
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * Incremented by every invalidation, so a object loaded while the table was changed isn't cached.
+     */
+    private long generation;
+
+    /**
+     * The number of lookups that found a cached object.
+     */
+    private long hits;
+    /**
+     * The number of lookups that didn't find a cached object (or found an expired one).
+     */
+    private long misses;
+    /**
+     * The number of objects removed to respect the cache size.
+     */
+    private long evictions;
+
+    /**
+     * Builds a entity cache.
+     *
+     * @param maxSize    The maximum number of cached objects.
+     * @param timeToLive The time that a object stays cached.
+     * @param unit       The time to live unit.
+     */
+    public EntityCache(int maxSize, long timeToLive, TimeUnit unit) {
+        Preconditions.checkArgument(maxSize > 0, "The cache size should be positive");
+        Preconditions.checkArgument(timeToLive > 0, "The time to live should be positive");
+        this.maxSize = maxSize;
+        this.timeToLive = unit.toNanos(timeToLive);
+    }
+
+    /**
+     * Gets a copy of a cached object.
+     *
+     * @param entity The model mapping information.
+     * @param id     The object id.
+     * @param <T>    The model type.
+     *
+     * @return A new object with the cached field values or null if the object isn't cached, it expired or it was
+     * cached with other model class.
+     */
+    public <T> T get(EntityMetadata<T> entity, Object id) {
+        Object[] values;
+        synchronized (this) {
+            Object key = keyOf(id);
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt - System.nanoTime() <= 0) {
+                entries.remove(key);
+                entry = null;
+            }
+
+            if (entry == null || entry.type != entity.getType()) {
+                misses++;
+                return null;
+            }
+            hits++;
+            values = entry.values;
+        }
+
+        try {
+            T object = entity.newInstance();
+            List<EntityMetadata.Column> columns = entity.getColumns();
+            for (int i = 0; i < values.length; i++) {
+                columns.get(i).set(object, values[i]);
+            }
+            return object;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot copy the cached " + entity.getType().getName(), e);
+        }
+    }
+
+    /**
+     * Gets the current generation, to be passed to {@link #put(EntityMetadata, Object, Object, long)} after loading a
+     * object.
+     *
+     * @return The number of invalidations.
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Caches a copy of the field values of an object. If the cache is full, the least recently used object is removed.
+     *
+     * @param entity     The model mapping information.
+     * @param id         The object id.
+     * @param object     The object.
+     * @param generation The generation got before loading the object. If the cache was invalidated since then, the
+     *                   object may be outdated and isn't cached.
+     * @param <T>        The model type.
+     */
+    public <T> void put(EntityMetadata<T> entity, Object id, T object, long generation) {
+        List<EntityMetadata.Column> columns = entity.getColumns();
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = columns.get(i).get(object);
+        }
+
+        synchronized (this) {
+            if (generation != this.generation)
+                return;
+
+            entries.put(keyOf(id), new Entry(entity.getType(), values, System.nanoTime() + timeToLive));
+            if (entries.size() > maxSize) {
+                Iterator<Object> eldest = entries.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions++;
+            }
+        }
+    }
+
+    /**
+     * Removes cached objects.
+     *
+     * @param ids The ids of the objects.
+     */
+    public synchronized void invalidate(Collection<?> ids) {
+        generation++;
+        ids.forEach(id -> entries.remove(keyOf(id)));
+    }
+
+    /**
+     * Removes all the cached objects.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    /**
+     * Gets the number of cached objects, including the expired ones not removed yet.
+     *
+     * @return The number of cached objects.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the cache counters.
+     *
+     * @return The cache stats.
+     */
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits, misses, evictions);
+    }
+
+    /**
+     * Gets the cache key of an id.
+     *
+     * @param id The id.
+     *
+     * @return The id as a long if it's a byte, a short, an int or a long, otherwise the id.
+     */
+    private static Object keyOf(Object id) {
+        if (id instanceof Integer || id instanceof Short || id instanceof Byte)
+            return ((Number) id).longValue();
+        return id;
+    }
+
+    /**
+     * A cached object.
+     */
+    private static class Entry {
+
+        /**
+         * The model class.
+         */
+        private final Class<?> type;
+        /**
+         * The field values, in the columns order.
+         */
+        private final Object[] values;
+        /**
+         * When the object expires, in {@link System#nanoTime()}.
+         */
+        private final long expiresAt;
+
+        /**
+         * Builds a cached object.
+         *
+         * @param type      The model class.
+         * @param values    The field values, in the columns order.
+         * @param expiresAt When the object expires.
+         */
+        private Entry(Class<?> type, Object[] values, long expiresAt) {
+            this.type = type;
+            this.values = values;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
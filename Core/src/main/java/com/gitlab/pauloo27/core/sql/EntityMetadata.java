@@ -0,0 +1,392 @@
+package com.gitlab.pauloo27.core.sql;
+
+import com.google.common.primitives.Primitives;
+
+import java.lang.reflect.Field;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The mapping information of a model class (table name, columns, id and serializers). It's resolved once per class by
+ * {@link EzSQL#getEntityMetadata(Class)} and reused to build and read the objects.
+ *
+ * @param <T> The model type.
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+public class EntityMetadata<T> {
+
+    /**
+     * The model class.
+     */
+    private final Class<T> type;
+    /**
+     * The table name.
+     */
+    private final String tableName;
+    /**
+     * The columns (the ignored fields are not included).
+     */
+    private final List<Column> columns;
+    /**
+     * The id column. It's nullable.
+     */
+    private final Column idColumn;
+
+    /**
+     * Resolves the mapping information of a model class.
+     *
+     * @param sql  The EzSQL used to resolve the names and the serializers.
+     * @param type The model class.
+     */
+    EntityMetadata(EzSQL sql, Class<T> type) {
+        this.type = type;
+        this.tableName = ReflectionUtils.getName(sql.getNameConverter(), type);
+
+        List<Column> columns = new ArrayList<>();
+        Column idColumn = null;
+        for (Field field : type.getDeclaredFields()) {
+            if (ReflectionUtils.isIgnored(field))
+                continue;
+
+            Column column = new Column(sql, field);
+            columns.add(column);
+
+            if (idColumn == null && column.isId())
+                idColumn = column;
+        }
+
+        this.columns = Collections.unmodifiableList(columns);
+        this.idColumn = idColumn;
+    }
+
+    /**
+     * Creates a new instance of the model using the no-args constructor.
+     *
+     * @return The new instance.
+     *
+     * @throws ReflectiveOperationException Problems to create the instance.
+     */
+    public T newInstance() throws ReflectiveOperationException {
+        return type.newInstance();
+    }
+
+    /**
+     * Gets the model class.
+     *
+     * @return The model class.
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Gets the table name.
+     *
+     * @return The value of the {@link Name} annotation or the class name, converted by the name converter.
+     */
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Gets the columns. The ignored fields are not included.
+     *
+     * @return The unmodifiable column list, in the fields declaration order.
+     */
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Gets the id column. The id is the first field with the {@link Id} annotation or called {@code id}.
+     *
+     * @return The id column or null if the model has no id.
+     */
+    public Column getIdColumn() {
+        return idColumn;
+    }
+
+    /**
+     * A model field mapped to a column.
+     */
+    public static class Column {
+
+        /**
+         * The field.
+         */
+        private final Field field;
+        /**
+         * The column name.
+         */
+        private final String name;
+        /**
+         * If the column is the id.
+         */
+        private final boolean id;
+        /**
+         * The column length or -1 if it's absent.
+         */
+        private final int length;
+        /**
+         * The attributes from the {@link DefaultAttributes} annotations.
+         */
+        private final List<Attribute> attributes;
+        /**
+         * The data type of the field type.
+         */
+        private final DataType dataType;
+        /**
+         * The serializer of the field type.
+         */
+        private final DataSerializer serializer;
+        /**
+         * The class of the serialized values, known if the field uses the default serializer. It's nullable.
+         */
+        private final Class<?> binderType;
+        /**
+         * The binder of the serialized values, resolved once with the metadata. It's null if the serialized class isn't
+         * known.
+         */
+        private final ParameterBinder<Object> binder;
+        /**
+         * The field accessor.
+         */
+        private final FieldAccessor accessor;
+        /**
+         * The reader of the column values, typed if the field type has a {@link ColumnReader} and the default
+         * serializer.
+         */
+        private final ColumnReader reader;
+
+        /**
+         * Resolves a column.
+         *
+         * @param sql   The EzSQL used to resolve the name, the serializer and the binder.
+         * @param field The field.
+         */
+        @SuppressWarnings("unchecked")
+        Column(EzSQL sql, Field field) {
+            this.accessor = FieldAccessor.of(field, sql.isGeneratedAccessors());
+            this.field = field;
+            this.name = ReflectionUtils.getName(sql.getNameConverter(), field);
+            this.id = ReflectionUtils.isId(field);
+            this.length = ReflectionUtils.getLength(field);
+            this.dataType = sql.getDateTypeByClass(field.getType());
+            this.serializer = sql.getSerializerByClass(field.getType());
+
+            // the default serializer keeps the values as they are, but the enums are stored by the name
+            if (sql.isDefaultSerializer(serializer))
+                this.binderType = field.getType().isEnum() ? String.class : Primitives.wrap(field.getType());
+            else
+                this.binderType = null;
+            this.binder = binderType == null ? null : (ParameterBinder<Object>) sql.getBinder(binderType);
+
+            ColumnReader typedReader = sql.isDefaultSerializer(serializer) ? ColumnReader.of(field.getType(), accessor) : null;
+            this.reader = typedReader != null ? typedReader : (result, index, object) -> {
+                Object value = result.getObject(index);
+
+                if (value != null)
+                    set(object, deserialize(value));
+            };
+
+            List<Attribute> attributes = new ArrayList<>();
+            Arrays.stream(field.getDeclaredAnnotations()).forEach(annotation -> {
+                if (annotation.annotationType().isMemberClass() && annotation.annotationType().getDeclaringClass() == DefaultAttributes.class) {
+                    attributes.add(DefaultAttributes.getAttribute(annotation.annotationType()));
+                }
+            });
+            this.attributes = Collections.unmodifiableList(attributes);
+        }
+
+        /**
+         * Gets the field.
+         *
+         * @return The field.
+         */
+        public Field getField() {
+            return field;
+        }
+
+        /**
+         * Gets the field type.
+         *
+         * @return The field type.
+         */
+        public Class<?> getType() {
+            return field.getType();
+        }
+
+        /**
+         * Gets the column name.
+         *
+         * @return The value of the {@link Name} annotation or the field name, converted by the name converter.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Checks if the column is the id.
+         *
+         * @return If the column is the id.
+         */
+        public boolean isId() {
+            return id;
+        }
+
+        /**
+         * Checks if the column has a length.
+         *
+         * @return If the {@link Length} annotation is present.
+         */
+        public boolean hasLength() {
+            return length != -1;
+        }
+
+        /**
+         * Gets the column length.
+         *
+         * @return The value of the {@link Length} annotation or {@code -1} if it's absent.
+         */
+        public int getLength() {
+            return length;
+        }
+
+        /**
+         * Gets the attributes.
+         *
+         * @return The attributes from the {@link DefaultAttributes} annotations.
+         */
+        public List<Attribute> getAttributes() {
+            return attributes;
+        }
+
+        /**
+         * Gets the data type.
+         *
+         * @return The data type of the field type, without the id {@link DefaultDataTypes#PRIMARY_KEY} override.
+         */
+        public DataType getDataType() {
+            return dataType;
+        }
+
+        /**
+         * Gets the serializer.
+         *
+         * @return The serializer of the field type.
+         */
+        public DataSerializer getSerializer() {
+            return serializer;
+        }
+
+        /**
+         * Gets the binder of a serialized value of the column, resolved when the metadata was built.
+         *
+         * @param value The serialized value.
+         *
+         * @return The binder or null if the value isn't of the resolved class (like with a custom serializer or a null
+         * value), so the binder should be found by the value class.
+         */
+        public ParameterBinder<Object> getBinder(Object value) {
+            return value != null && value.getClass() == binderType ? binder : null;
+        }
+
+        /**
+         * Gets the field accessor.
+         *
+         * @return The field accessor.
+        public FieldAccessor getAccessor() {
+            return accessor;
+        }
+
+        /**
+         * Reads the column of the current row of a result to an object.
+         *
+         * @param result The result, already positioned in the row.
+         * @param index  The column index in the result, starting with 1.
+         * @param object The object to fill.
+         *
+         * @throws SQLException Problems to read the column.
+         */
+        public void read(ResultSet result, int index, Object object) throws SQLException {
+            reader.read(result, index, object);
+        }
+
+        /**
+         * Gets the field value from an object.
+         *
+         * @param object The object.
+         *
+         * @return The field value.
+         */
+        public Object get(Object object) {
+            return accessor.get(object);
+        }
+
+        /**
+         * Sets the field value of an object. The numbers are set using the primitive setters if the field is an int, a
+         * long or a double, so the driver can return another number type (a long to an int field, for example).
+         *
+         * @param object The object.
+         * @param value  The new value.
+         */
+        public void set(Object object, Object value) {
+            Class<?> type = field.getType();
+            if (type.isPrimitive() && value instanceof Number) {
+                Number number = (Number) value;
+                if (type == int.class) {
+                    accessor.setInt(object, number.intValue());
+                    return;
+                } else if (type == long.class) {
+                    accessor.setLong(object, number.longValue());
+                    return;
+                } else if (type == double.class) {
+                    accessor.setDouble(object, number.doubleValue());
+                    return;
+                }
+            }
+
+            accessor.set(object, value);
+        }
+
+        /**
+         * Gets the field value from an object, serialized to the column.
+         *
+         * @param object The object.
+         *
+         * @return The serialized value.
+         */
+        public Object getSerialized(Object object) {
+            return serialize(get(object));
+        }
+
+        /**
+         * Serializes a field value to the column.
+         *
+         * @param value The field value.
+         *
+         * @return The serialized value.
+         */
+        public Object serialize(Object value) {
+            return serializer.getSerializer().apply(value);
+        }
+
+        /**
+         * Deserializes a column value to the field.
+         *
+         * @param value The column value.
+         *
+         * @return The deserialized value.
+         */
+        public Object deserialize(Object value) {
+            return serializer.getDeserializer().apply(field.getType(), value);
+        }
+    }
+}
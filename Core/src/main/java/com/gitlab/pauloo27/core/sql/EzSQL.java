@@ -1,9 +1,24 @@
 package com.gitlab.pauloo27.core.sql;
 
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
 import java.sql.*;
 import java.util.Date;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * <h1>The main EzSQL class with the builds and main functions. Where the magic happens.</h1>
@@ -38,6 +53,48 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
             null,
             "ENUM_NAME"
     );
+    /**
+     * The enum stored as the constant ordinal, if it has up to 128 constants.
+     */
+    private static DataType ENUM_ORDINAL = new DataType(
+            "TINYINT",
+            false,
+            null,
+            null,
+            "ENUM_ORDINAL"
+    );
+    /**
+     * The enum stored as the constant ordinal, if it has more than 128 constants.
+     */
+    private static DataType ENUM_ORDINAL_SMALLINT = new DataType(
+            "SMALLINT",
+            false,
+            null,
+            null,
+            "ENUM_ORDINAL_SMALLINT"
+    );
+    /**
+     * The constants of each enum, by their name.
+     */
+    private static final ClassValue<Map<String, Object>> ENUM_CONSTANTS_BY_NAME = new ClassValue<Map<String, Object>>() {
+        @Override
+        protected Map<String, Object> computeValue(Class<?> type) {
+            Map<String, Object> constants = new HashMap<>();
+            for (Object constant : type.getEnumConstants()) {
+                constants.put(((Enum) constant).name(), constant);
+            }
+            return Collections.unmodifiableMap(constants);
+        }
+    };
+    /**
+     * The constants of each enum, by their ordinal. The arrays are never modified.
+     */
+    private static final ClassValue<Object[]> ENUM_CONSTANTS = new ClassValue<Object[]>() {
+        @Override
+        protected Object[] computeValue(Class<?> type) {
+            return type.getEnumConstants();
+        }
+    };
     /**
      * The default data serializer.
      */
@@ -46,7 +103,7 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
                 if (object == null)
                     return null;
 
-                if (object.getClass().isEnum()) {
+                if (object instanceof Enum) {
                     return ((Enum) object).name();
                 }
 
@@ -55,10 +112,7 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
 
             (clazz, object) -> {
                 if (clazz.isEnum())
-                    return Arrays.stream(clazz.getEnumConstants())
-                            .filter(member -> ((Enum) member).name().equals(object))
-                            .findFirst()
-                            .orElse(null);
+                    return ENUM_CONSTANTS_BY_NAME.get(clazz).get(object);
 
                 return object;
             }
@@ -95,19 +149,104 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
      * A custom JDBC driver.
      */
     protected String customDriverClass;
+    /**
+     * The minimum number of pooled connections.
+     */
+    protected int poolMinSize;
+    /**
+     * The maximum number of pooled connections. If it's 0 (the default), the statements use the single connection.
+     */
+    protected int poolMaxSize;
+    /**
+     * The time (in milliseconds) that a pooled connection can be idle before being closed.
+     */
+    protected long poolIdleTimeout;
+    /**
+     * The connection pool used by the statements. Null if the pool is disabled or not connected.
+     */
+    protected ConnectionPool pool;
+    /**
+     * The maximum number of cached prepared statements per connection. If it's 0 (the default), the cache is
+     * disabled.
+     */
+    protected int statementCacheSize;
+    /**
+     * The prepared statement caches by connection.
+     */
+    private final Map<Connection, StatementCache> statementCaches = new ConcurrentHashMap<>();
+
+    /**
+     * The entity caches by the table name.
+     */
+    private final Map<String, EntityCache> entityCaches = new ConcurrentHashMap<>();
+
+    /**
+     * The cached results of the selects with {@link Select#cached(long, TimeUnit)}.
+     */
+    private volatile QueryCache queryCache = new QueryCache(256);
 
     /**
      * The name converter used to convert the models (class and field) name to SQL.
      */
-    protected NameConverter nameConverter = new DefaultNameConverter();
+    protected NameConverter nameConverter = new CachingNameConverter(new DefaultNameConverter());
+    /**
+     * The Data Type by the Object. It's concurrent, so the EzSQL can be shared between threads.
+     */
+    private final Map<Class<?>, DataType> typesByClass = new ConcurrentHashMap<>();
+    /**
+     * A map of the serializers. It's concurrent, so the EzSQL can be shared between threads.
+     */
+    private final Map<Class<?>, DataSerializer> typeSerializer = new ConcurrentHashMap<>();
+    /**
+     * The parameter binders by the parameter class.
+     */
+    private final Map<Class<?>, ParameterBinder<?>> binders = new ConcurrentHashMap<>();
+    /**
+     * The max amount of entry names in the {@link #VALID_ENTRY_NAMES} cache.
+     */
+    private static final int MAX_CACHED_ENTRY_NAMES = 1024;
+    /**
+     * The entry names that passed the validation, the least recently used are removed when it's full.
+     */
+    private static final Cache<String, Boolean> VALID_ENTRY_NAMES = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_ENTRY_NAMES)
+            .build();
+    /**
+     * The resolved models by their class.
+     */
+    private final Map<Class<?>, EntityMetadata<?>> entities = new ConcurrentHashMap<>();
+    /**
+     * The executor of the async statements. It's nullable, the default executor is used if it's null.
+     */
+    private Executor executor;
+    /**
+     * The query listeners.
+     */
+    private final List<QueryListener> queryListeners = new CopyOnWriteArrayList<>();
+    /**
+     * The timing of the statement prepared by the current thread and not executed yet.
+     */
+    private final ThreadLocal<QueryEvent> pendingQueryEvent = new ThreadLocal<>();
+    /**
+     * The transaction running in the current thread.
+     */
+    private final ThreadLocal<Transaction> currentTransaction = new ThreadLocal<>();
+    /**
+     * The connection leases of the prepared statements, given back when the statements are closed.
+     */
+    private final Map<PreparedStatement, ConnectionLease> leases = Collections.synchronizedMap(new IdentityHashMap<>());
+    /**
+     * The owned connections got by {@link #acquireConnection()}. A owned connection is used by one caller at a time.
+     */
+    private final Map<Connection, ConnectionLease> acquired = Collections.synchronizedMap(new IdentityHashMap<>());
     /**
-     * The Data Type by the Object.
+     * If a query listener needs the bound parameters (see {@link QueryListener#isCapturingParameters()}).
      */
-    private Map<Class<?>, DataType> typesByClass = new HashMap<>();
+    private volatile boolean capturingParameters;
     /**
-     * A map of the serializers.
+     * If the model fields are accessed using method handles instead of reflection.
      */
-    private Map<Class, DataSerializer> typeSerializer = new HashMap<>();
+    private boolean generatedAccessors = true;
 
     {
         registerDataType(String.class, DefaultDataTypes.VARCHAR);
@@ -125,6 +264,22 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
         registerDataType(char.class, DefaultDataTypes.CHAR);
 
         registerDataType(Date.class, DefaultDataTypes.DATE);
+
+        registerBinder(String.class, PreparedStatement::setString);
+
+        registerBinder(Byte.class, PreparedStatement::setByte);
+        registerBinder(Short.class, PreparedStatement::setShort);
+        registerBinder(Integer.class, PreparedStatement::setInt);
+        registerBinder(Long.class, PreparedStatement::setLong);
+
+        registerBinder(Float.class, PreparedStatement::setFloat);
+        registerBinder(Double.class, PreparedStatement::setDouble);
+        registerBinder(BigDecimal.class, PreparedStatement::setBigDecimal);
+
+        registerBinder(Boolean.class, PreparedStatement::setBoolean);
+
+        registerBinder(Timestamp.class, PreparedStatement::setTimestamp);
+        registerBinder(byte[].class, PreparedStatement::setBytes);
     }
 
     /**
@@ -134,9 +289,10 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
     }
 
     /**
-     * Checks if a entry name is valid. Used to protect the column, table and database names from SQL Injection. Uses a
-     * regex that checks if the string is only of alphabetical characters ({@code \w*}) and a dot, an asterisk or a
-     * {@code AVG, SUM or COUNT} call.
+     * Checks if a entry name is valid. Used to protect the column, table and database names from SQL Injection. Checks
+     * if the string is only of alphabetical characters ({@code \w*}) and a dot, an asterisk or a {@code AVG, SUM or
+     * COUNT} call. The valid names are cached (up to the 1024 most recently used), the invalid ones are always checked
+     * again.
      *
      * @param name The string to check.
      *
@@ -144,28 +300,149 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
      * SUM or COUNT} call.
      */
     public static boolean checkEntryName(String name) {
-        if (name.toLowerCase().matches("(avg|sum|count)\\([\\w|\'|\"|\\*]+\\)")) {
-            String method = name.toLowerCase().split("\\(")[0];
-            if (!name.toLowerCase().startsWith(method + "(") || !name.endsWith(")"))
-                return false;
+        if (VALID_ENTRY_NAMES.getIfPresent(name) != null)
+            return true;
 
-            // method.length() + 1 : the method plus a '('
-            String column = name.substring(method.length() + 1, name.length() - 1);
+        if (!validateEntryName(name))
+            return false;
 
-            return checkEntryName(column);
-        }
+        VALID_ENTRY_NAMES.put(name, Boolean.TRUE);
+        return true;
+    }
+
+    /**
+     * Checks if a entry name is in the cache of {@link #checkEntryName(String)}.
+     *
+     * @param name The entry name.
+     *
+     * @return If the name is cached as valid.
+     */
+    static boolean isEntryNameCached(String name) {
+        return VALID_ENTRY_NAMES.getIfPresent(name) != null;
+    }
+
+    /**
+     * Checks if a entry name is valid, without the cache.
+     *
+     * @param name The string to check.
+     *
+     * @return If the string is a valid entry name.
+     *
+     * @see #checkEntryName(String) to the rules.
+     */
+    static boolean validateEntryName(String name) {
+        return validateEntryName(name, 0, name.length());
+    }
 
-        if (name.equals("*"))
+    /**
+     * Checks if a part of a string is a valid entry name, without allocating.
+     *
+     * @param name  The string.
+     * @param start The start index (inclusive).
+     * @param end   The end index (exclusive).
+     *
+     * @return If the part is a valid entry name.
+     */
+    private static boolean validateEntryName(String name, int start, int end) {
+        // AVG(column), SUM(column) or COUNT(column)
+        int argumentStart = aggregateArgumentStart(name, start, end);
+        if (argumentStart != -1)
+            return validateEntryName(name, argumentStart, end - 1);
+
+        if (end - start == 1 && name.charAt(start) == '*')
             return true;
 
-        if (name.contains(".")) {
-            String[] names = name.split("\\.");
-            if (names.length != 2)
+        if (indexOf(name, '.', start, end) == -1)
+            return isWord(name, start, end);
+
+        // table.column, the trailing empty parts are ignored (like String#split)
+        int partsEnd = end;
+        while (partsEnd > start && name.charAt(partsEnd - 1) == '.')
+            partsEnd--;
+
+        int dot = indexOf(name, '.', start, partsEnd);
+        if (dot == -1 || indexOf(name, '.', dot + 1, partsEnd) != -1)
+            return false;
+
+        return validateEntryName(name, start, dot) && validateEntryName(name, dot + 1, partsEnd);
+    }
+
+    /**
+     * Finds the argument of an aggregate function call ({@code AVG, SUM or COUNT}, ignoring the case). The argument
+     * should not be empty and can have only word characters, quotes, asterisks and pipes.
+     *
+     * @param name  The string.
+     * @param start The start index (inclusive).
+     * @param end   The end index (exclusive).
+     *
+     * @return The start index of the argument (it ends before the last character) or {@code -1} if the part is not an
+     * aggregate function call.
+     */
+    private static int aggregateArgumentStart(String name, int start, int end) {
+        int open;
+        if (name.regionMatches(true, start, "count", 0, 5))
+            open = start + 5;
+        else if (name.regionMatches(true, start, "avg", 0, 3) || name.regionMatches(true, start, "sum", 0, 3))
+            open = start + 3;
+        else
+            return -1;
+
+        // at least one character between the parentheses
+        if (end - open < 3 || name.charAt(open) != '(' || name.charAt(end - 1) != ')')
+            return -1;
+
+        for (int i = open + 1; i < end - 1; i++) {
+            char c = name.charAt(i);
+            if (!isWordCharacter(c) && c != '|' && c != '\'' && c != '"' && c != '*')
+                return -1;
+        }
+        return open + 1;
+    }
+
+    /**
+     * Checks if a part of a string has only word characters ({@code [a-zA-Z0-9_]}).
+     *
+     * @param name  The string.
+     * @param start The start index (inclusive).
+     * @param end   The end index (exclusive).
+     *
+     * @return If the part is empty or has only word characters.
+     */
+    private static boolean isWord(String name, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isWordCharacter(name.charAt(i)))
                 return false;
+        }
+        return true;
+    }
 
-            return Arrays.stream(names).allMatch(EzSQL::checkEntryName);
-        } else
-            return name.matches("\\w*");
+    /**
+     * Checks if a character is a word character ({@code [a-zA-Z0-9_]}).
+     *
+     * @param c The character.
+     *
+     * @return If the character is a word character.
+     */
+    private static boolean isWordCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /**
+     * Finds a character in a part of a string.
+     *
+     * @param name  The string.
+     * @param c     The character.
+     * @param start The start index (inclusive).
+     * @param end   The end index (exclusive).
+     *
+     * @return The index of the character or {@code -1} if it's not in the part.
+     */
+    private static int indexOf(String name, char c, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (name.charAt(i) == c)
+                return i;
+        }
+        return -1;
     }
 
     /**
@@ -184,8 +461,8 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
     }
 
     /**
-     * Sets the name converter used to convert the models (class and field) name. The default is {@link
-     * DefaultNameConverter}.
+     * Sets the name converter used to convert the models (class and field) name. The default is a {@link
+     * DefaultNameConverter} wrapped by a {@link CachingNameConverter}.
      *
      * @param nameConverter The name converter policy implementation.
      *
@@ -193,11 +470,98 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
      */
     public EzSQL<DatabaseType, TableType> withNameConverter(NameConverter nameConverter) {
         this.nameConverter = nameConverter;
+        this.entities.clear();
+        return this;
+    }
+
+    /**
+     * Sets if the model fields are read and written using method handles created once per field (the default) or using
+     * reflection. The method handles can be inlined by the JIT when mapping large results.
+     *
+     * @param generatedAccessors If the method handles should be used.
+     *
+     * @return The current object instance.
+     */
+    public EzSQL<DatabaseType, TableType> withGeneratedAccessors(boolean generatedAccessors) {
+        this.generatedAccessors = generatedAccessors;
+        this.entities.clear();
+        return this;
+    }
+
+    /**
+     * Checks if the model fields are accessed using method handles.
+     *
+     * @return If the method handles are used instead of reflection.
+     */
+    public boolean isGeneratedAccessors() {
+        return generatedAccessors;
+    }
+
+    /**
+     * Sets the executor of the async statements (see {@link StatementBase#executeAsync()}). The default executor uses
+     * virtual threads if the JVM supports them (Java 21 or newer) or a cached pool of daemon threads.
+     *
+     * @param executor The executor.
+     *
+     * @return The current object instance.
+     */
+    public EzSQL<DatabaseType, TableType> withExecutor(Executor executor) {
+        Preconditions.checkNotNull(executor, "The executor cannot be null");
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Gets the executor of the async statements.
+     *
+     * @return The executor set with {@link #withExecutor(Executor)} or the default one.
+     */
+    public Executor getExecutor() {
+        return executor == null ? DefaultExecutor.INSTANCE : executor;
+    }
+
+    /**
+     * Adds a query listener, called with the timings of every executed statement. The statements are only timed if
+     * there's a listener.
+     *
+     * @param listener The query listener.
+     *
+     * @return The current object instance.
+     *
+     * @see QueryHistogram to get the latency percentiles of each statement.
+     */
+    public EzSQL<DatabaseType, TableType> withQueryListener(QueryListener listener) {
+        Preconditions.checkNotNull(listener, "The listener cannot be null");
+        this.queryListeners.add(listener);
+        this.capturingParameters = queryListeners.stream().anyMatch(QueryListener::isCapturingParameters);
         return this;
     }
 
     /**
-     * Gets the name converter policy implementation.The default is {@link DefaultNameConverter}.
+     * Removes a query listener.
+     *
+     * @param listener The query listener.
+     *
+     * @return The current object instance.
+     */
+    public EzSQL<DatabaseType, TableType> removeQueryListener(QueryListener listener) {
+        this.queryListeners.remove(listener);
+        this.capturingParameters = queryListeners.stream().anyMatch(QueryListener::isCapturingParameters);
+        return this;
+    }
+
+    /**
+     * Gets the query listeners.
+     *
+     * @return The unmodifiable list of the query listeners.
+     */
+    public List<QueryListener> getQueryListeners() {
+        return Collections.unmodifiableList(queryListeners);
+    }
+
+    /**
+     * Gets the name converter policy implementation. The default is a {@link DefaultNameConverter} wrapped by a {@link
+     * CachingNameConverter}.
      *
      * @return the name converter policy implementation.
      */
@@ -286,6 +650,196 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
         return this;
     }
 
+    /**
+     * Enables the connection pool. When enabled, each statement borrows a connection from the pool when executed and
+     * gives it back when the {@link Result} is closed, so statements from different threads can run concurrently. The
+     * connection returned by {@link #getConnection()} is kept apart and only used to read the metadata, like {@link
+     * #getCurrentDatabase()}. The database cannot be changed with {@link #changeDatabase(Database)} while the pool is
+     * enabled.
+     *
+     * @param minSize     The minimum number of pooled connections.
+     * @param maxSize     The maximum number of pooled connections.
+     * @param idleTimeout The time (in milliseconds) that a connection can be idle before being closed, checked when a
+     *                    connection is borrowed or released and periodically in background. Use 0 to keep them open.
+     *
+     * @return The current object instance.
+     */
+    public EzSQL<DatabaseType, TableType> withPool(int minSize, int maxSize, long idleTimeout) {
+        this.poolMinSize = minSize;
+        this.poolMaxSize = maxSize;
+        this.poolIdleTimeout = idleTimeout;
+        return this;
+    }
+
+    /**
+     * Enables the prepared statement cache. When enabled, the statements built by EzSQL are cached by their SQL text
+     * (per connection) and closing a {@link Result} gives the statement back to the cache instead of closing it, so
+     * the same SQL is parsed only once by the driver.
+     *
+     * @param maxSize The maximum number of cached statements per connection, the least recently used statement is
+     *                closed when the cache is full. Use 0 to disable it.
+     *
+     * @return The current object instance.
+     */
+    public EzSQL<DatabaseType, TableType> withStatementCache(int maxSize) {
+        this.statementCacheSize = maxSize;
+        return this;
+    }
+
+    /**
+     * Gets the prepared statement cache counters, summed for all the connections.
+     *
+     * @return The cache stats.
+     */
+    public CacheStats getStatementCacheStats() {
+        return statementCaches.values().stream()
+                .map(StatementCache::getStats)
+                .reduce(new CacheStats(0, 0, 0), CacheStats::plus);
+    }
+
+    /**
+     * Enables the entity cache of a table, used by {@link Table#findById(Class, Object)} to skip the select of the
+     * objects read recently. The cached objects are invalidated by the update and delete statements of the table
+     * built by this EzSQL ({@link Table#update(Object)}, {@link Table#delete(Object)}, {@link
+     * Table#deleteAll(Collection)}, {@link Table#updateAll(Collection)}...), by {@link Table#truncate()} and by {@link
+     * Table#drop()}. The statements that don't update objects by id clear the table cache. The changes made by raw
+     * statements or other applications aren't seen until the object expires (or {@link #invalidateEntities(String,
+     * Collection)} is called).
+     *
+     * @param table      The table name.
+     * @param maxSize    The maximum number of cached objects, the least recently used object is removed when the cache
+     *                   is full. Use 0 to disable the cache of the table.
+     * @param timeToLive The time that a object stays cached.
+     * @param unit       The time to live unit.
+     *
+     * @return The current object instance.
+     */
+    public EzSQL<DatabaseType, TableType> withEntityCache(String table, int maxSize, long timeToLive, TimeUnit unit) {
+        if (maxSize <= 0)
+            entityCaches.remove(table);
+        else
+            entityCaches.put(table, new EntityCache(maxSize, timeToLive, unit));
+        return this;
+    }
+
+    /**
+     * Gets the entity cache of a table.
+     *
+     * @param table The table name.
+     *
+     * @return The entity cache or null if it's disabled.
+     */
+    public EntityCache getEntityCache(String table) {
+        return entityCaches.get(table);
+    }
+
+    /**
+     * Removes objects from the entity cache of a table. Does nothing if the cache is disabled.
+     *
+     * @param table The table name.
+     * @param ids   The ids of the changed objects or null to remove all the objects.
+     */
+    public void invalidateEntities(String table, Collection<?> ids) {
+        if (entityCaches.isEmpty())
+            return;
+
+        EntityCache cache = entityCaches.get(table);
+        if (cache == null)
+            return;
+
+        if (ids == null)
+            cache.invalidateAll();
+        else
+            cache.invalidate(ids);
+    }
+
+    /**
+     * Sets the size of the query cache, used by the selects with {@link Select#cached(long, TimeUnit)}. The cached
+     * results are discarded. The default size is 256 results.
+     *
+     * @param maxSize The maximum number of cached results, the least recently used result is removed when the cache
+     *                is full.
+     *
+     * @return The current object instance.
+     */
+    public EzSQL<DatabaseType, TableType> withQueryCache(int maxSize) {
+        this.queryCache = new QueryCache(maxSize);
+        return this;
+    }
+
+    /**
+     * Gets the query cache counters.
+     *
+     * @return The cache stats.
+     */
+    public CacheStats getQueryCacheStats() {
+        return queryCache.getStats();
+    }
+
+    /**
+     * Removes the cached results of a table from the query cache. The changes made by the statements of the table built
+     * by this EzSQL already remove them, it's needed only after raw statements.
+     *
+     * @param table The table name.
+     */
+    public void invalidateQueries(String table) {
+        queryCache.invalidate(table);
+    }
+
+    /**
+     * Removes the cached data of a changed table: the query cache results and the entity cache objects. Inside a
+     * transaction, they're removed again after the commit or the rollback.
+     *
+     * @param table The table name.
+     * @param ids   The ids of the changed objects or null to remove all the objects from the entity cache.
+     */
+    protected void tableChanged(String table, Collection<?> ids) {
+        Transaction transaction = currentTransaction.get();
+        if (transaction != null)
+            transaction.tableChanged(table);
+
+        invalidateQueries(table);
+        invalidateEntities(table, ids);
+    }
+
+    /**
+     * Executes a select using the query cache. If the result isn't cached, the query is executed and the rows are
+     * copied to the cache.
+     *
+     * @param table        The table name.
+     * @param joinedTables The names of the joined tables, so changing them also removes the result.
+     * @param statement    The SQL.
+     * @param parameters   The parameters.
+     * @param fetchSize    The fetch size or zero to the driver default.
+     * @param timeToLive   The time (in nanoseconds) that the result stays cached.
+     *
+     * @return The result, reading the cached rows.
+     *
+     * @throws SQLException Problems to execute the statement.
+     */
+    QueryResult executeCached(String table, Collection<String> joinedTables, String statement, List<Object> parameters, int fetchSize, long timeToLive) throws SQLException {
+        QueryCache cache = this.queryCache;
+        ResultSet cached = cache.get(table, statement, parameters);
+        if (cached != null)
+            return new QueryResult(this, cached);
+
+        long generation = cache.getGeneration();
+        PreparedStatement prepared = prepare(statement, table);
+        try {
+            if (fetchSize > 0)
+                applyFetchSize(prepared, fetchSize);
+
+            setValuesObjects(prepared, new AtomicInteger(), parameters);
+        } catch (SQLException | RuntimeException e) {
+            discard(prepared, e);
+            throw e;
+        }
+
+        try (QueryResult result = new QueryResult(this, prepared)) {
+            return new QueryResult(this, cache.put(table, joinedTables, statement, parameters, result.getResultSet(), timeToLive, generation));
+        }
+    }
+
     /**
      * Checks if the SQL is ready to connect.
      *
@@ -302,6 +856,17 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
      */
     public abstract int getDefaultPort();
 
+    /**
+     * Gets the max amount of parameters of a statement. The statements built from collections (like {@link
+     * #updateAll(Table, Collection)}) are split to respect it. The default is {@code 999}, the SQLite limit before
+     * the version 3.32.0.
+     *
+     * @return The max amount of parameters of a statement.
+     */
+    public int getMaxParameters() {
+        return 999;
+    }
+
     /**
      * Gets the URL Base.
      *
@@ -351,20 +916,193 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
         if (defaultDatabase != null && !checkEntryName(defaultDatabase))
             throw new SQLException(defaultDatabase + " is not a valid name");
 
+        this.connection = this.createConnection(!this.createDefaultDatabaseIfNotExists);
+
+        if (this.createDefaultDatabaseIfNotExists)
+            this.changeDatabase(this.createIfNotExists(new DatabaseBuilder(this.defaultDatabase)));
+
+        if (this.poolMaxSize > 0)
+            // the default database exists now, so the pooled connections can select it in the URL
+            this.pool = new ConnectionPool(() -> this.createConnection(true), poolMinSize, poolMaxSize, poolIdleTimeout)
+                    .withDiscardListener(this::clearStatementCache);
+
+        return this;
+    }
+
+    /**
+     * Opens a new connection to the SQL.
+     *
+     * @param selectDatabase If true, the default database (if not null) is selected in the connection URL.
+     *
+     * @return The new connection.
+     *
+     * @throws SQLException Problems to connect.
+     */
+    protected Connection createConnection(boolean selectDatabase) throws SQLException {
         String url = String.format("%s%s:%d", this.getURLBase(), this.address, this.getPort());
 
-        if (this.defaultDatabase != null && !this.createDefaultDatabaseIfNotExists)
+        if (selectDatabase && this.defaultDatabase != null)
             url += "/" + this.defaultDatabase;
 
         if (this.username == null)
-            this.connection = DriverManager.getConnection(url);
+            return DriverManager.getConnection(url);
         else
-            this.connection = DriverManager.getConnection(url, username, password);
+            return DriverManager.getConnection(url, username, password);
+    }
 
-        if (this.createDefaultDatabaseIfNotExists)
-            this.changeDatabase(this.createIfNotExists(new DatabaseBuilder(this.defaultDatabase)));
+    /**
+     * Gets a connection to run a statement. If the pool is enabled, a connection is borrowed from it, otherwise the
+     * single connection is used. Inside a transaction, it's the transaction connection. Use {@link
+     * #releaseConnection(Connection)} to give it back.
+     *
+     * @return The connection.
+     *
+     * @throws SQLException Problems to borrow the connection.
+     */
+    public Connection acquireConnection() throws SQLException {
+        ConnectionLease lease = leaseConnection(null);
+        if (lease.isOwned())
+            acquired.put(lease.getConnection(), lease);
+        return lease.getConnection();
+    }
 
-        return this;
+    /**
+     * Gives back a connection got from {@link #acquireConnection()}. Does nothing if the connection isn't owned by the
+     * caller (the single connection or the connection of a transaction, even if the transaction already ended) or if
+     * it was already given back.
+     *
+     * @param connection The connection.
+     */
+    public void releaseConnection(Connection connection) {
+        ConnectionLease lease = acquired.remove(connection);
+        if (lease != null)
+            lease.release();
+    }
+
+    /**
+     * Gets a connection to run a statement, recording how it was got. Inside a transaction, the lease has the pinned
+     * connection and releasing it does nothing, even if it's released after the transaction ends. With the pool, the
+     * lease is bound to the borrow, so a stale release doesn't give back a connection borrowed again by other thread.
+     *
+     * @param statement The SQL statement or null if unknown. The implementations can choose the connection by the
+     *                  statement, like sending the selects to read-only connections.
+     *
+     * @return The lease.
+     *
+     * @throws SQLException Problems to get the connection.
+     */
+    protected ConnectionLease leaseConnection(String statement) throws SQLException {
+        Transaction transaction = currentTransaction.get();
+        if (transaction != null)
+            return new ConnectionLease(transaction.getConnection(), null);
+
+        if (pool != null) {
+            Object event = FlightRecorderEvents.beginPoolWait();
+            ConnectionLease lease = pool.lease();
+            if (event != null)
+                FlightRecorderEvents.commitPoolWait(event, pool.getBorrowedCount(), pool.getSize());
+            return lease;
+        }
+
+        // the single connection is shared, there's nothing to give back
+        return new ConnectionLease(this.getConnection(), null);
+    }
+
+    /**
+     * Runs statements in a transaction. A connection is pinned to the current thread and the auto commit is disabled,
+     * so every statement executed by this EzSQL in the callback (in the same thread) is part of the transaction. When
+     * the callback returns, the queued statements (see {@link Transaction#queue(UpdateStatementBase)}) are executed in
+     * batches and the transaction is committed. If the callback throws an exception, the transaction is rolled back and
+     * the exception is thrown again.
+     * <p>
+     * A transaction started inside other transaction runs in a savepoint of the outer transaction. The statements
+     * executed in other threads (like {@link StatementBase#executeAsync()}) aren't part of the transaction. The
+     * transactions need a connection used only by the transaction thread, so the connection pool should be enabled (see
+     * {@link #withPool(int, int, long)}), otherwise the single connection would commit or roll back the statements of
+     * the other threads too. The query cache and the entity cache are bypassed inside transactions.
+     *
+     * @param callback The code to run in the transaction.
+     * @param <R>      The callback result type.
+     *
+     * @return The callback result.
+     *
+     * @throws SQLException Problems to run the callback, to commit or to roll back, or the transactions aren't
+     *                      supported (see {@link #supportsTransactions()}).
+     */
+    public <R> R transaction(Transaction.Callback<R> callback) throws SQLException {
+        if (!this.isConnected()) throw new SQLException("Not connected.");
+        if (!this.supportsTransactions())
+            throw new SQLException("The transactions need the connection pool, the single connection is shared by all the threads");
+
+        Transaction current = currentTransaction.get();
+        if (current != null)
+            return current.runNested(callback);
+
+        ConnectionLease lease = this.leaseConnection(null);
+        Connection connection = lease.getConnection();
+        Transaction transaction = new Transaction(this, connection);
+        try {
+            try {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                currentTransaction.set(transaction);
+                Throwable failure = null;
+                try {
+                    R result = callback.run(transaction);
+                    transaction.commit();
+                    return result;
+                } catch (SQLException | RuntimeException | Error e) {
+                    failure = e;
+                    try {
+                        transaction.rollback();
+                    } catch (SQLException rollbackException) {
+                        e.addSuppressed(rollbackException);
+                    }
+                    throw e;
+                } finally {
+                    currentTransaction.remove();
+                    try {
+                        connection.setAutoCommit(autoCommit);
+                    } catch (SQLException autoCommitException) {
+                        // keep the callback failure
+                        if (failure == null)
+                            throw autoCommitException;
+                        failure.addSuppressed(autoCommitException);
+                    }
+                }
+            } finally {
+                transaction.invalidateChangedTables();
+            }
+        } finally {
+            lease.release();
+        }
+    }
+
+    /**
+     * Checks if a transaction can get a connection that no other thread uses while the transaction runs.
+     *
+     * @return If the connection pool is enabled.
+     */
+    protected boolean supportsTransactions() {
+        return pool != null;
+    }
+
+    /**
+     * Checks if the current thread is running a transaction of this EzSQL.
+     *
+     * @return If the current thread is inside {@link #transaction(Transaction.Callback)}.
+     */
+    public boolean isInTransaction() {
+        return currentTransaction.get() != null;
+    }
+
+    /**
+     * Gets the connection pool.
+     *
+     * @return The connection pool or null if the pool is disabled or not connected.
+     */
+    public ConnectionPool getPool() {
+        return pool;
     }
 
     /**
@@ -380,31 +1118,271 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
     }
 
     /**
-     * Changes the selected database.
+     * Changes the selected database. It cannot be used with the connection pool, since the pooled connections select
+     * the default database (see {@link #withDefaultDatabase(String)}) when opened.
      *
      * @param database The database to selected.
      *
-     * @return The current object instance.
+     * @return The current object instance.
+     *
+     * @throws SQLException Problems to execute the statement or the pool is enabled.
+     */
+    public EzSQL<DatabaseType, TableType> changeDatabase(DatabaseType database) throws SQLException {
+        if (!this.isConnected()) throw new SQLException("Not connected");
+        if (this.pool != null)
+            throw new SQLException("The database cannot be changed with the connection pool enabled, use withDefaultDatabase");
+        ConnectionLease lease = this.leaseConnection(null);
+        try (Statement statement = lease.getConnection().createStatement()) {
+            statement.execute(String.format("USE %s", database.getName()));
+        } finally {
+            lease.release();
+        }
+        return this;
+    }
+
+    /**
+     * Executes a PreparedStatement and close it (see {@link #closeStatement(PreparedStatement)}).
+     *
+     * @param statement The statement.
+     *
+     * @throws SQLException Problems to execute the statement.
+     */
+    public void executeAndClose(PreparedStatement statement) throws SQLException {
+        if (!this.isConnected()) throw new SQLException("Not connected");
+        try {
+            statement.execute();
+        } finally {
+            closeStatement(statement);
+        }
+    }
+
+    /**
+     * Closes a statement built by {@link #prepareStatement(String, Object...)} (or gives it back to the statement
+     * cache) and gives back its connection.
+     *
+     * @param statement The statement.
+     *
+     * @throws SQLException Problems to close the statement.
+     */
+    public void closeStatement(PreparedStatement statement) throws SQLException {
+        ConnectionLease lease = takeLease(statement);
+        try {
+            recycle(statement);
+        } finally {
+            release(lease);
+        }
+    }
+
+    /**
+     * Executes a statement once per row using a JDBC batch, then gives back the statement and the connection.
+     *
+     * @param statement The SQL statement.
+     * @param rows      The values of each execution.
+     *
+     * @return The update counts of each row, as returned by {@link PreparedStatement#executeBatch()}.
+     *
+     * @throws SQLException Problems to execute the batch.
+     */
+    public int[] executeBatch(String statement, List<List<Object>> rows) throws SQLException {
+        return executeBatch(statement, rows, null);
+    }
+
+    /**
+     * Executes a statement once per row using a JDBC batch, then gives back the statement and the connection.
+     *
+     * @param statement The SQL statement.
+     * @param rows      The values of each execution.
+     * @param binders   The binders of the values of each row (see {@link #bind(PreparedStatement, int, Object,
+     *                  ParameterBinder)}). It's nullable.
+     *
+     * @return The update counts of each row, as returned by {@link PreparedStatement#executeBatch()}.
+     *
+     * @throws SQLException Problems to execute the batch.
+     */
+    public int[] executeBatch(String statement, List<List<Object>> rows, List<List<ParameterBinder<Object>>> binders) throws SQLException {
+        return execute(statement, prepared -> {
+            for (int row = 0; row < rows.size(); row++) {
+                setValuesObjects(prepared, new AtomicInteger(), rows.get(row), binders == null ? null : binders.get(row));
+                prepared.addBatch();
+            }
+            return prepared.executeBatch();
+        });
+    }
+
+    /**
+     * Executes an update statement, then gives back the statement and the connection.
+     *
+     * @param statement The SQL statement.
+     * @param values    The statement values.
+     *
+     * @return The updated rows.
+     *
+     * @throws SQLException Problems to execute the statement.
+     */
+    public int executeUpdate(String statement, List<Object> values) throws SQLException {
+        return executeUpdate(statement, values, null);
+    }
+
+    /**
+     * Executes an update statement, then gives back the statement and the connection.
+     *
+     * @param statement The SQL statement.
+     * @param values    The statement values.
+     * @param binders   The binders of the values (see {@link #bind(PreparedStatement, int, Object, ParameterBinder)}).
+     *                  It's nullable.
+     *
+     * @return The updated rows.
+     *
+     * @throws SQLException Problems to execute the statement.
+     */
+    public int executeUpdate(String statement, List<Object> values, List<ParameterBinder<Object>> binders) throws SQLException {
+        return execute(statement, prepared -> {
+            setValuesObjects(prepared, new AtomicInteger(), values, binders);
+            return prepared.executeUpdate();
+        });
+    }
+
+    /**
+     * Prepares a statement, runs a callback with it, then gives back the statement and the connection.
+     *
+     * @param statement The SQL statement.
+     * @param callback  The callback that binds and executes the statement.
+     * @param <R>       The callback result type.
+     *
+     * @return The callback result.
+     *
+     * @throws SQLException Problems to prepare or execute the statement.
+     */
+    public <R> R execute(String statement, StatementCallback<R> callback) throws SQLException {
+        if (!this.isConnected()) throw new SQLException("Not connected");
+
+        PreparedStatement prepared = this.prepare(statement);
+        ConnectionLease lease = takeLease(prepared);
+        // the event is kept pending while the callback binds the parameters
+        QueryEvent event = peekQueryEvent(prepared);
+        if (event != null)
+            event.bound();
+        try {
+            R result = callback.apply(prepared);
+            if (event != null)
+                event.executed(-1);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            if (event != null)
+                event.failed(e);
+            throw e;
+        } finally {
+            try {
+                recycle(prepared);
+            } finally {
+                release(lease);
+                if (event != null) {
+                    takeQueryEvent(prepared);
+                    publishQueryEvent(event);
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates multiples objects (every column but the id) using one statement per chunk, instead of one statement per
+     * object. The default implementation uses {@code SET column = CASE id WHEN ? THEN ? ... END WHERE id IN (...)}
+     * and splits the objects to respect the {@link #getMaxParameters()}.
+     *
+     * @param table   The table.
+     * @param objects The objects to update. They should be of the same class and have an id.
+     * @param <T>     The object type.
+     *
+     * @return The updated rows.
+     *
+     * @throws SQLException Problems to execute the statement.
+     */
+    public <T> int updateAll(TableType table, Collection<T> objects) throws SQLException {
+        if (objects.isEmpty())
+            return 0;
+
+        EntityMetadata<T> entity = getEntityMetadata(objects);
+        EntityMetadata.Column idColumn = entity.getIdColumn();
+        List<EntityMetadata.Column> columns = getUpdatableColumns(entity);
+
+        int rowsPerStatement = Math.max(1, getMaxParameters() / (columns.size() * 2 + 1));
+
+        int updated = 0;
+        for (List<T> chunk : Lists.partition(new ArrayList<>(objects), rowsPerStatement)) {
+            List<Object> values = new ArrayList<>();
+            List<ParameterBinder<Object>> binders = new ArrayList<>();
+            String cases = columns.stream().map(column -> {
+                chunk.forEach(object -> {
+                    Object id = idColumn.get(object);
+                    Object value = column.getSerialized(object);
+                    values.add(id);
+                    binders.add(idColumn.getBinder(id));
+                    values.add(value);
+                    binders.add(column.getBinder(value));
+                });
+                return String.format("%s = CASE %s %s END", column.getName(), idColumn.getName(),
+                        String.join(" ", Collections.nCopies(chunk.size(), "WHEN ? THEN ?")));
+            }).collect(Collectors.joining(", "));
+
+            chunk.forEach(object -> {
+                Object id = idColumn.get(object);
+                values.add(id);
+                binders.add(idColumn.getBinder(id));
+            });
+
+            updated += executeUpdate(String.format("UPDATE %s SET %s WHERE %s IN (%s);", table.getName(), cases,
+                    idColumn.getName(), String.join(", ", Collections.nCopies(chunk.size(), "?"))), values, binders);
+        }
+        return updated;
+    }
+
+    /**
+     * Gets the mapping information of the objects of a bulk statement.
+     *
+     * @param objects The objects. They should be of the same class and have an id.
+     * @param <T>     The object type.
+     *
+     * @return The model mapping information.
+     */
+    protected <T> EntityMetadata<T> getEntityMetadata(Collection<T> objects) {
+        Class<T> clazz = (Class<T>) objects.iterator().next().getClass();
+        Preconditions.checkArgument(objects.stream().allMatch(object -> object.getClass() == clazz),
+                "The objects should be of the same class");
+
+        EntityMetadata<T> entity = getEntityMetadata(clazz);
+        Preconditions.checkArgument(entity.getIdColumn() != null, clazz.getName() + " has no id");
+        return entity;
+    }
+
+    /**
+     * Gets the columns changed by {@link #updateAll(Table, Collection)}.
+     *
+     * @param entity The model mapping information.
      *
-     * @throws SQLException Problems to execute the statement.
+     * @return Every column but the id.
      */
-    public EzSQL<DatabaseType, TableType> changeDatabase(DatabaseType database) throws SQLException {
-        if (!this.isConnected()) throw new SQLException("Not connected");
-        this.executeUnsafeStatementAndClose("USE %s", database.getName());
-        return this;
+    protected List<EntityMetadata.Column> getUpdatableColumns(EntityMetadata<?> entity) {
+        List<EntityMetadata.Column> columns = entity.getColumns().stream()
+                .filter(column -> !column.isId())
+                .collect(Collectors.toList());
+        Preconditions.checkArgument(!columns.isEmpty(), entity.getType().getName() + " has no column to update");
+        return columns;
     }
 
     /**
-     * Executes a PreparedStatement and close.
+     * Converts a select statement to SQL.
      *
-     * @param statement The statement.
+     * @param select The select statement.
+     * @param table  The table.
      *
-     * @throws SQLException Problems to execute the statement.
+     * @return The SQL with a {@code ?} for each parameter (see {@link StatementBase#getParameters()}).
      */
-    public void executeAndClose(PreparedStatement statement) throws SQLException {
-        if (!this.isConnected()) throw new SQLException("Not connected");
-        statement.execute();
-        statement.close();
+    public String toSQL(Select select, TableType table) {
+        return String.format("SELECT %s FROM %s;", String.join(", ", select.getColumnNames()), (table.getName() + " " +
+                select.joinToString() + " " +
+                select.whereToString() + " " +
+                select.orderByToString() + " " +
+                select.limitToString()).trim()).replaceAll("\\s+", " ");
     }
 
     /**
@@ -418,18 +1396,34 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
      * @throws SQLException Problems to prepare the statement.
      */
     public PreparedStatement build(Select select, TableType table) throws SQLException {
-        PreparedStatement statement = this.getConnection().prepareStatement(
-                String.format("SELECT %s FROM %s;", String.join(", ", select.getColumnNames()), (table.getName() + " " +
-                        select.joinToString() + " " +
-                        select.whereToString() + " " +
-                        select.orderByToString() + " " +
-                        select.limitToString()).trim()).replaceAll("\\s+", " ")
-        );
-
-        setWhereObjects(statement, new AtomicInteger(), select.getWhereConditions().getWhereStatements());
+        PreparedStatement statement = this.prepare(toSQL(select, table), table.getName());
+
+        try {
+            if (select.getFetchSize() > 0)
+                applyFetchSize(statement, select.getFetchSize());
+
+            setWhereObjects(statement, new AtomicInteger(), select.getWhereConditions().getWhereStatements());
+        } catch (SQLException | RuntimeException e) {
+            discard(statement, e);
+            throw e;
+        }
         return statement;
     }
 
+    /**
+     * Sets the fetch size of a select statement. The default implementation only uses {@link
+     * PreparedStatement#setFetchSize(int)}, the implementations can change the statement or the connection to make the
+     * driver stream the rows.
+     *
+     * @param statement The statement.
+     * @param fetchSize The amount of rows fetched at once.
+     *
+     * @throws SQLException Problems to set the fetch size.
+     */
+    protected void applyFetchSize(PreparedStatement statement, int fetchSize) throws SQLException {
+        statement.setFetchSize(fetchSize);
+    }
+
     /**
      * Builds a data type.
      *
@@ -452,6 +1446,19 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
         return attribute.toSQL();
     }
 
+    /**
+     * Converts an insert statement to SQL.
+     *
+     * @param insert The insert statement.
+     * @param table  The table.
+     *
+     * @return The SQL with a {@code ?} for each value.
+     */
+    public String toSQL(Insert insert, TableType table) {
+        return String.format("INSERT INTO %s (%s) VALUES %s;",
+                table.getName(), insert.getColumnsName(), insert.valuesToString());
+    }
+
     /**
      * Builds a insert statement.
      *
@@ -463,14 +1470,36 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
      * @throws SQLException Problems to prepare the statement.
      */
     public PreparedStatement build(Insert insert, TableType table) throws SQLException {
-        PreparedStatement statement = this.getConnection().prepareStatement(
-                String.format("INSERT INTO %s (%s) VALUES %s;",
-                        table.getName(), insert.getColumnsName(), insert.valuesToString()));
+        PreparedStatement statement = this.prepare(toSQL(insert, table), table.getName());
 
-        setValuesObjects(statement, new AtomicInteger(), insert.getValues());
+        try {
+            setValuesObjects(statement, new AtomicInteger(), insert.getValues(), insert.getBinders());
+        } catch (SQLException | RuntimeException e) {
+            discard(statement, e);
+            throw e;
+        }
         return statement;
     }
 
+    /**
+     * Converts an update statement to SQL.
+     *
+     * @param update The update statement.
+     * @param table  The table.
+     *
+     * @return The SQL with a {@code ?} for each parameter (see {@link Update#getParameters()}).
+     */
+    public String toSQL(Update update, TableType table) {
+        return String.format("UPDATE %s %s %s %s %s %s;",
+                table.getName(),
+                update.setsToString(),
+                update.joinToString(),
+                update.whereToString(),
+                update.orderByToString(),
+                update.limitToString()
+        ).trim().replaceAll("\\s+", " ");
+    }
+
     /**
      * Builds a update statement.
      *
@@ -482,25 +1511,198 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
      * @throws SQLException Problems to prepare the statement.
      */
     public PreparedStatement build(Update update, TableType table) throws SQLException {
-        PreparedStatement statement = this.getConnection().prepareStatement(
-                String.format("UPDATE %s %s %s %s %s %s;",
-                        table.getName(),
-                        update.setsToString(),
-                        update.joinToString(),
-                        update.whereToString(),
-                        update.orderByToString(),
-                        update.limitToString()
-                ).trim().replaceAll("\\s+", " ")
-        );
-        AtomicInteger i = new AtomicInteger();
-        setSetObjects(statement, i, update.getSets());
-        setWhereObjects(statement, i, update.getWhereConditions().getWhereStatements());
+        PreparedStatement statement = this.prepare(toSQL(update, table), table.getName());
+        try {
+            AtomicInteger i = new AtomicInteger();
+            setSetObjects(statement, i, update.getSets());
+            setWhereObjects(statement, i, update.getWhereConditions().getWhereStatements());
+        } catch (SQLException | RuntimeException e) {
+            discard(statement, e);
+            throw e;
+        }
 
         return statement;
     }
 
     /**
-     * Builds a PreparedStatement in inline.
+     * Prepares a statement using a connection from {@link #leaseConnection(String)}. If it fails, the connection is
+     * given back.
+     *
+     * @param statement The SQL statement.
+     *
+     * @return The prepared statement.
+     *
+     * @throws SQLException Problems to prepare the statement.
+     */
+    protected PreparedStatement prepare(String statement) throws SQLException {
+        return prepare(statement, null);
+    }
+
+    /**
+     * Prepares a statement of a table using a connection from {@link #leaseConnection(String)}. If it fails, the
+     * connection is given back. If there's a query listener, the statement timing starts here.
+     *
+     * @param statement The SQL statement.
+     * @param table     The table name, sent to the query listeners. It's nullable.
+     *
+     * @return The prepared statement.
+     *
+     * @throws SQLException Problems to prepare the statement.
+     */
+    protected PreparedStatement prepare(String statement, String table) throws SQLException {
+        QueryEvent event = queryListeners.isEmpty() ? null : new QueryEvent(statement, table, capturingParameters);
+
+        ConnectionLease lease = this.leaseConnection(statement);
+        Connection connection = lease.getConnection();
+        PreparedStatement prepared;
+        try {
+            if (statementCacheSize <= 0)
+                prepared = connection.prepareStatement(statement);
+            else
+                prepared = statementCaches.computeIfAbsent(connection, c -> new StatementCache(c, statementCacheSize))
+                        .prepare(statement);
+        } catch (SQLException | RuntimeException e) {
+            lease.release();
+            throw e;
+        }
+        leases.put(prepared, lease);
+
+        if (event != null) {
+            event.prepared(prepared);
+            pendingQueryEvent.set(event);
+        }
+        return prepared;
+    }
+
+    /**
+     * Takes the connection lease of a prepared statement, to be released when the statement is closed.
+     *
+     * @param statement The prepared statement.
+     *
+     * @return The lease or null if the statement wasn't prepared by {@link #prepare(String, String)}.
+     */
+    ConnectionLease takeLease(PreparedStatement statement) {
+        return leases.remove(statement);
+    }
+
+    /**
+     * Releases a connection lease.
+     *
+     * @param lease The lease. It's nullable.
+     */
+    void release(ConnectionLease lease) {
+        if (lease != null)
+            lease.release();
+    }
+
+    /**
+     * Takes the timing of a statement prepared by the current thread, to be continued by its result.
+     *
+     * @param statement The prepared statement.
+     *
+     * @return The statement timing or null if there's no query listener.
+     */
+    QueryEvent takeQueryEvent(PreparedStatement statement) {
+        QueryEvent event = pendingQueryEvent.get();
+        if (event == null)
+            return null;
+
+        pendingQueryEvent.remove();
+        if (event.getStatement() != statement)
+            return null;
+
+        event.taken();
+        return event;
+    }
+
+    /**
+     * Gets the timing of a statement prepared by the current thread, without taking it.
+     *
+     * @param statement The prepared statement.
+     *
+     * @return The statement timing or null if there's no query listener.
+     */
+    private QueryEvent peekQueryEvent(PreparedStatement statement) {
+        QueryEvent event = pendingQueryEvent.get();
+        return event != null && event.getStatement() == statement ? event : null;
+    }
+
+    /**
+     * Sends a finished statement timing to the query listeners.
+     *
+     * @param event The statement timing.
+     */
+    void publishQueryEvent(QueryEvent event) {
+        event.closed();
+        for (QueryListener listener : queryListeners) {
+            try {
+                listener.onQuery(event);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Gives back a statement got from {@link #prepare(String)}. If the statement cache is enabled, the statement is
+     * kept open to be reused, otherwise it's closed.
+     *
+     * @param statement The statement.
+     *
+     * @throws SQLException Problems to close the statement.
+     */
+    public void recycle(PreparedStatement statement) throws SQLException {
+        StatementCache cache = statementCacheSize <= 0 ? null : statementCaches.get(statement.getConnection());
+
+        if (cache == null)
+            statement.close();
+        else
+            cache.recycle(statement);
+    }
+
+    /**
+     * Gives back a statement that failed to be built and its connection. The statement timing is sent to the query
+     * listeners as failed by the cause.
+     *
+     * @param statement The statement.
+     * @param cause     The build failure, the problems to give back the statement are added to it as suppressed.
+     */
+    protected void discard(PreparedStatement statement, Exception cause) {
+        QueryEvent event = takeQueryEvent(statement);
+        ConnectionLease lease = takeLease(statement);
+        try {
+            try {
+                recycle(statement);
+            } finally {
+                release(lease);
+            }
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        } finally {
+            // the listeners see the real cause instead of a later "parameter not set"
+            if (event != null) {
+                event.bound();
+                event.failed(cause);
+                publishQueryEvent(event);
+            }
+        }
+    }
+
+    /**
+     * Closes the cached statements of a connection.
+     *
+     * @param connection The connection.
+     */
+    protected void clearStatementCache(Connection connection) {
+        StatementCache cache = statementCaches.remove(connection);
+        if (cache != null)
+            cache.clear();
+    }
+
+    /**
+     * Builds a PreparedStatement in inline. The statement uses a connection like the built statements (pooled or
+     * pinned to the current transaction), so it should be closed with {@link #executeAndClose(PreparedStatement)} or
+     * {@link #closeStatement(PreparedStatement)} to give the connection back.
      *
      * @param statement The SQL statement.
      * @param values    The array os values.
@@ -510,13 +1712,22 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
      * @throws SQLException Error to create the statement.
      */
     public PreparedStatement prepareStatement(String statement, Object... values) throws SQLException {
-        PreparedStatement stmt = this.getConnection().prepareStatement(statement);
-        this.setValuesObjects(stmt, new AtomicInteger(), Arrays.asList(values));
+        PreparedStatement stmt = this.prepare(statement);
+        // the raw statements aren't timed
+        takeQueryEvent(stmt);
+        try {
+            this.setValuesObjects(stmt, new AtomicInteger(), Arrays.asList(values));
+        } catch (SQLException | RuntimeException e) {
+            discard(stmt, e);
+            throw e;
+        }
         return stmt;
     }
 
     /**
-     * Builds a non-PreparedStatement in inline using {@link String#format(String, Object...)}.
+     * Builds a non-PreparedStatement in inline using {@link String#format(String, Object...)}. The query runs in a
+     * connection like the built statements (pooled or pinned to the current transaction), held until the result set is
+     * closed, so it should be closed to give the connection back.
      *
      * @param statement The SQL statement.
      * @param values    The array os values.
@@ -526,12 +1737,58 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
      * @throws SQLException Error to create the statement.
      */
     public ResultSet executeUnsafeStatementQuery(String statement, Object... values) throws SQLException {
-        return this.getConnection().createStatement().executeQuery(String.format(statement, values));
+        String query = String.format(statement, values);
+        ConnectionLease lease = this.leaseConnection(query);
+        Statement stmt = null;
+        try {
+            stmt = lease.getConnection().createStatement();
+            return releasingOnClose(stmt.executeQuery(query), stmt, lease);
+        } catch (SQLException | RuntimeException e) {
+            if (stmt != null) {
+                try {
+                    stmt.close();
+                } catch (SQLException closeException) {
+                    e.addSuppressed(closeException);
+                }
+            }
+            lease.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Wraps a result set, so closing it also closes its statement and releases the connection lease.
+     *
+     * @param resultSet The result set.
+     * @param statement The statement of the result set.
+     * @param lease     The lease of the statement connection.
+     *
+     * @return The wrapped result set.
+     */
+    private static ResultSet releasingOnClose(ResultSet resultSet, Statement statement, ConnectionLease lease) {
+        return (ResultSet) Proxy.newProxyInstance(EzSQL.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                        try (Statement closing = statement) {
+                            resultSet.close();
+                        } finally {
+                            lease.release();
+                        }
+                        return null;
+                    }
+
+                    try {
+                        return method.invoke(resultSet, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
     }
 
     /**
      * Executes a non-PreparedStatement then and close. Note that use statement is unsafe for users values. The values
-     * will be defined using {@link String#format(String, Object...)}, so take care of the user inputs.
+     * will be defined using {@link String#format(String, Object...)}, so take care of the user inputs. The statement
+     * runs in a connection like the built statements (pooled or pinned to the current transaction).
      *
      * @param statement    The Statement.
      * @param unsafeValues The array of values.
@@ -539,9 +1796,54 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
      * @throws SQLException Error to create or run the statement.
      */
     public void executeUnsafeStatementAndClose(String statement, Object... unsafeValues) throws SQLException {
-        Statement stmt = connection.createStatement();
-        stmt.execute(String.format(statement, unsafeValues));
-        stmt.close();
+        ConnectionLease lease = this.leaseConnection(null);
+        try (Statement stmt = lease.getConnection().createStatement()) {
+            stmt.execute(String.format(statement, unsafeValues));
+        } finally {
+            lease.release();
+        }
+    }
+
+    /**
+     * Binds a parameter using the binder of the value class.
+     *
+     * @param statement The statement.
+     * @param index     The parameter index, starting with 1.
+     * @param value     The parameter value.
+     *
+     * @throws SQLException Problems to set the parameter.
+     */
+    public void bind(PreparedStatement statement, int index, Object value) throws SQLException {
+        bind(statement, index, value, null);
+    }
+
+    /**
+     * Binds a parameter using a binder already resolved, like the binder of a model column (see {@link
+     * EntityMetadata.Column#getBinder(Object)}), so it isn't found again for each value.
+     *
+     * @param statement The statement.
+     * @param index     The parameter index, starting with 1.
+     * @param value     The parameter value.
+     * @param binder    The binder of the value class or null to use the binder registered to the value class.
+     *
+     * @throws SQLException Problems to set the parameter.
+     */
+    @SuppressWarnings("unchecked")
+    public void bind(PreparedStatement statement, int index, Object value, ParameterBinder<Object> binder) throws SQLException {
+        if (capturingParameters) {
+            QueryEvent event = peekQueryEvent(statement);
+            if (event != null)
+                event.addParameter(value);
+        }
+
+        if (value == null) {
+            ParameterBinder.OBJECT.bind(statement, index, null);
+            return;
+        }
+
+        if (binder == null)
+            binder = (ParameterBinder<Object>) getBinder(value.getClass());
+        binder.bind(statement, index, value);
     }
 
     /**
@@ -550,22 +1852,27 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
      * @param statement  The statement.
      * @param i          A atomic int of the index of the first '?'.
      * @param statements The list of the where conditions.
+     *
+     * @throws SQLException Problems to bind a value.
      */
-    public void setWhereObjects(PreparedStatement statement, AtomicInteger i, Collection<WhereCondition.WhereStatementBase> statements) {
-        statements.forEach(statementBase -> {
+    public void setWhereObjects(PreparedStatement statement, AtomicInteger i, Collection<WhereCondition.WhereStatementBase> statements) throws SQLException {
+        for (WhereCondition.WhereStatementBase statementBase : statements) {
             if (statementBase instanceof WhereCondition.Parentheses)
-                return;
+                continue;
 
             WhereCondition.Where where = ((WhereCondition.WhereStatement) statementBase).getWhere();
             if (where.getType() == WhereCondition.Where.WhereType.NOT_NULL || where.getType() == WhereCondition.Where.WhereType.NULL)
-                return;
-            try {
-                // Note that the setObject function starts with 1
-                statement.setObject(i.incrementAndGet(), where.getValue());
-            } catch (SQLException e) {
-                e.printStackTrace();
+                continue;
+
+            // Note that the setObject function starts with 1
+            if (where.getType() == WhereCondition.Where.WhereType.IN) {
+                for (Object value : (Collection<?>) where.getValue()) {
+                    bind(statement, i.incrementAndGet(), value);
+                }
+            } else {
+                bind(statement, i.incrementAndGet(), where.getValue());
             }
-        });
+        }
     }
 
     /**
@@ -574,16 +1881,15 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
      * @param statement The statement.
      * @param i         A atomic int of the index of the first '?'.
      * @param setList   The list of the set statements.
+     *
+     * @throws SQLException Problems to bind a value.
      */
-    public void setSetObjects(PreparedStatement statement, AtomicInteger i, Collection<Map.Entry<String, Object>> setList) {
-        setList.forEach(set -> {
-            try {
-                // Note that the setObject function starts with 1
-                statement.setObject(i.incrementAndGet(), set.getValue());
-            } catch (SQLException e) {
-                e.printStackTrace();
-            }
-        });
+    public void setSetObjects(PreparedStatement statement, AtomicInteger i, Collection<Map.Entry<String, Object>> setList) throws SQLException {
+        for (Map.Entry<String, Object> set : setList) {
+            // Note that the setObject function starts with 1
+            ParameterBinder<Object> binder = set instanceof Update.ColumnSet ? ((Update.ColumnSet) set).getBinder() : null;
+            bind(statement, i.incrementAndGet(), set.getValue(), binder);
+        }
     }
 
     /**
@@ -592,16 +1898,47 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
      * @param statement The statement.
      * @param i         A atomic int of the index of the first '?'.
      * @param values    The list of the values.
+     *
+     * @throws SQLException Problems to bind a value.
      */
-    public void setValuesObjects(PreparedStatement statement, AtomicInteger i, List<Object> values) {
-        values.forEach(value -> {
-            try {
-                // Note that the setObject function starts with 1
-                statement.setObject(i.incrementAndGet(), value);
-            } catch (SQLException e) {
-                e.printStackTrace();
-            }
-        });
+    public void setValuesObjects(PreparedStatement statement, AtomicInteger i, List<Object> values) throws SQLException {
+        setValuesObjects(statement, i, values, null);
+    }
+
+    /**
+     * Sets the value statements objects to a statement for each '?' in the query.
+     *
+     * @param statement The statement.
+     * @param i         A atomic int of the index of the first '?'.
+     * @param values    The list of the values.
+     * @param binders   The binders of the values, in the same order (see {@link #bind(PreparedStatement, int, Object,
+     *                  ParameterBinder)}). It's nullable.
+     *
+     * @throws SQLException Problems to bind a value.
+     */
+    public void setValuesObjects(PreparedStatement statement, AtomicInteger i, List<Object> values, List<ParameterBinder<Object>> binders) throws SQLException {
+        for (int value = 0; value < values.size(); value++) {
+            // Note that the setObject function starts with 1
+            bind(statement, i.incrementAndGet(), values.get(value), binders == null ? null : binders.get(value));
+        }
+    }
+
+    /**
+     * Converts a delete statement to SQL.
+     *
+     * @param delete The delete statement.
+     * @param table  The table.
+     *
+     * @return The SQL with a {@code ?} for each parameter (see {@link StatementBase#getParameters()}).
+     */
+    public String toSQL(Delete delete, TableType table) {
+        return String.format("DELETE FROM %s %s %s %s %s;",
+                table.getName(),
+                delete.whereToString(),
+                delete.joinToString(),
+                delete.orderByToString(),
+                delete.limitToString()
+        ).trim().replaceAll("\\s+", " ");
     }
 
     /**
@@ -615,21 +1952,20 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
      * @throws SQLException Problems to prepare the statement.
      */
     public PreparedStatement build(Delete delete, TableType table) throws SQLException {
-        PreparedStatement statement = this.getConnection().prepareStatement(
-                String.format("DELETE FROM %s %s %s %s %s;",
-                        table.getName(),
-                        delete.whereToString(),
-                        delete.joinToString(),
-                        delete.orderByToString(),
-                        delete.limitToString()
-                ).trim().replaceAll("\\s+", " ")
-        );
-        setWhereObjects(statement, new AtomicInteger(), delete.getWhereConditions().getWhereStatements());
+        PreparedStatement statement = this.prepare(toSQL(delete, table), table.getName());
+        try {
+            setWhereObjects(statement, new AtomicInteger(), delete.getWhereConditions().getWhereStatements());
+        } catch (SQLException | RuntimeException e) {
+            discard(statement, e);
+            throw e;
+        }
         return statement;
     }
 
     /**
-     * Gets the connections.
+     * Gets the connections. The statements run directly in it skip the pool and the connection leases (with the
+     * SQLite read pool it's the writer connection), so use {@link #acquireConnection()} and {@link
+     * #releaseConnection(Connection)} to run them while other threads use EzSQL.
      *
      * @return The connection.
      */
@@ -699,6 +2035,7 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
      */
     public EzSQL<? extends Database, ? extends Table> registerDataType(Class clazz, DataType dataType) {
         typesByClass.put(clazz, dataType);
+        entities.clear();
         return this;
     }
 
@@ -713,9 +2050,64 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
      */
     public <T> EzSQL<? extends Database, ? extends Table> registerSerializer(Class<T> clazz, DataSerializer<T> serializer) {
         typeSerializer.put(clazz, serializer);
+        entities.clear();
+        return this;
+    }
+
+    /**
+     * Stores an enum as the ordinal of its constants, in a {@code TINYINT} column (or {@code SMALLINT} if the enum has
+     * more than 128 constants), instead of the name in a {@code VARCHAR} column. Reordering the enum constants changes
+     * the stored values.
+     *
+     * @param clazz The enum class.
+     * @param <E>   The enum type.
+     *
+     * @return The current object instance.
+     */
+    public <E extends Enum<E>> EzSQL<? extends Database, ? extends Table> registerOrdinalEnum(Class<E> clazz) {
+        Object[] constants = ENUM_CONSTANTS.get(clazz);
+
+        registerDataType(clazz, constants.length <= Byte.MAX_VALUE + 1 ? ENUM_ORDINAL : ENUM_ORDINAL_SMALLINT);
+        registerSerializer(clazz, new DataSerializer<>(
+                constant -> constant == null ? null : constant.ordinal(),
+                (type, object) -> {
+                    if (!(object instanceof Number))
+                        return null;
+
+                    int ordinal = ((Number) object).intValue();
+                    return ordinal >= 0 && ordinal < constants.length ? type.cast(constants[ordinal]) : null;
+                }
+        ));
+        return this;
+    }
+
+    /**
+     * Register a new parameter binder. The binders are used to the values of that exact class (not to its subclasses).
+     *
+     * @param clazz  The parameter class.
+     * @param binder The binder.
+     * @param <T>    The parameter class type.
+     *
+     * @return The current object instance.
+     */
+    public <T> EzSQL<? extends Database, ? extends Table> registerBinder(Class<T> clazz, ParameterBinder<? super T> binder) {
+        Preconditions.checkNotNull(binder, "Binder cannot be null");
+        binders.put(clazz, binder);
+        entities.clear();
         return this;
     }
 
+    /**
+     * Gets the parameter binder by the class. The default binder is {@link ParameterBinder#OBJECT}.
+     *
+     * @param clazz The parameter class.
+     *
+     * @return The binder.
+     */
+    public ParameterBinder<?> getBinder(Class<?> clazz) {
+        return binders.getOrDefault(clazz, ParameterBinder.OBJECT);
+    }
+
     /**
      * Gets the data type by the class. The default data type is {@link #DEFAULT_DATATYPE}.
      *
@@ -724,7 +2116,8 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
      * @return The data type.
      */
     public DataType getDateTypeByClass(Class clazz) {
-        if (!typesByClass.containsKey(clazz)) {
+        DataType dataType = typesByClass.get(clazz);
+        if (dataType == null) {
             if (clazz.isEnum()) {
                 return ENUM_NAME;
             }
@@ -732,7 +2125,7 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
             return DEFAULT_DATATYPE;
         }
 
-        return typesByClass.get(clazz);
+        return dataType;
     }
 
     /**
@@ -743,10 +2136,18 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
      * @return The serializer.
      */
     public DataSerializer getSerializerByClass(Class clazz) {
-        if (!typeSerializer.containsKey(clazz))
-            return DEFAULT_DATA_SERIALIZER;
+        return typeSerializer.getOrDefault(clazz, DEFAULT_DATA_SERIALIZER);
+    }
 
-        return typeSerializer.get(clazz);
+    /**
+     * Checks if a serializer is the default one, that keeps the values of the non enum types as they are.
+     *
+     * @param serializer The serializer.
+     *
+     * @return If the serializer is {@link #DEFAULT_DATA_SERIALIZER}.
+     */
+    boolean isDefaultSerializer(DataSerializer serializer) {
+        return serializer == DEFAULT_DATA_SERIALIZER;
     }
 
     /**
@@ -760,57 +2161,69 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
      * @throws SQLException Problems to execute the statement.
      */
     public <T> TableType createIfNotExists(Class<T> clazz) throws SQLException {
-        String tableName = ReflectionUtils.getName(nameConverter, clazz);
+        EntityMetadata<T> entity = getEntityMetadata(clazz);
 
-        TableBuilder tableBuilder = new TableBuilder(tableName);
+        TableBuilder tableBuilder = new TableBuilder(entity.getTableName());
 
-        Arrays.stream(clazz.getDeclaredFields()).forEach(field -> {
-            field.setAccessible(true);
-
-            if (ReflectionUtils.isIgnored(field))
-                return;
-
-            DataType dataType = getDateTypeByClass(field.getType());
+        entity.getColumns().forEach(column -> {
+            DataType dataType = column.getDataType();
 
             int length = -1;
 
             if (dataType == DEFAULT_DATATYPE || dataType == ENUM_NAME)
                 length = 64;
 
-            if (ReflectionUtils.hasLength(field)) {
-                length = ReflectionUtils.getLength(field);
+            if (column.hasLength()) {
+                length = column.getLength();
             }
 
-            if (ReflectionUtils.isId(field)) {
+            if (column.isId()) {
                 dataType = DefaultDataTypes.PRIMARY_KEY;
             }
 
-            List<Attribute> attributes = new ArrayList<>();
-            Arrays.stream(field.getDeclaredAnnotations()).forEach(annotation -> {
-                if (annotation.annotationType().isMemberClass() && annotation.annotationType().getDeclaringClass() == DefaultAttributes.class) {
-                    attributes.add(DefaultAttributes.getAttribute(annotation.annotationType()));
-                }
-            });
-
             try {
-                String columnName = ReflectionUtils.getName(nameConverter, field);
-
                 Object defaultValue = null;
-                if (!field.getType().isPrimitive() || field.isAnnotationPresent(DefaultValue.class)) {
-                    Object value = field.get(clazz.newInstance());
-                    defaultValue = value == null ? null : getSerializerByClass(field.getType()).getSerializer().apply(value);
+                if (!column.getType().isPrimitive() || column.getField().isAnnotationPresent(DefaultValue.class)) {
+                    Object value = column.get(entity.newInstance());
+                    defaultValue = value == null ? null : column.serialize(value);
                 }
 
                 tableBuilder.withColumn(
-                        new ColumnBuilder(columnName, dataType, length, attributes.toArray(new Attribute[]{}))
+                        new ColumnBuilder(column.getName(), dataType, length, column.getAttributes().toArray(new Attribute[]{}))
                                 .withDefaultValue(defaultValue));
-            } catch (InstantiationException | IllegalAccessException e) {
+            } catch (ReflectiveOperationException e) {
                 e.printStackTrace();
             }
         });
         return createIfNotExists(tableBuilder);
     }
 
+    /**
+     * Gets the mapping information of a model class. It's resolved in the first call and reused until a data type, a
+     * serializer, a binder or the name converter is changed.
+     *
+     * @param clazz The model class.
+     * @param <T>   The model type.
+     *
+     * @return The model mapping information.
+     */
+    public <T> EntityMetadata<T> getEntityMetadata(Class<T> clazz) {
+        return (EntityMetadata<T>) entities.computeIfAbsent(clazz, type -> new EntityMetadata<>(this, type));
+    }
+
+    /**
+     * Resolves the mapping information of the model classes ahead of time, so the first statements don't pay for the
+     * reflection. Should be called after registering the data types, the serializers and the name converter.
+     *
+     * @param classes The model classes.
+     *
+     * @return The current object instance.
+     */
+    public EzSQL<DatabaseType, TableType> warmUp(Class<?>... classes) {
+        Arrays.stream(classes).forEach(this::getEntityMetadata);
+        return this;
+    }
+
     /**
      * Creates a database if not exists.
      *
@@ -881,7 +2294,57 @@ public abstract class EzSQL<DatabaseType extends Database, TableType extends Tab
      */
     public void disconnect() throws SQLException {
         if (!this.isConnected()) throw new SQLException("Not connected");
+        if (this.pool != null) {
+            this.pool.close();
+            this.pool = null;
+        }
+        statementCaches.keySet().forEach(this::clearStatementCache);
         this.connection.close();
     }
 
+    /**
+     * The default executor of the async statements, created in the first use.
+     */
+    private static class DefaultExecutor {
+        /**
+         * The executor.
+         */
+        private static final Executor INSTANCE = create();
+
+        /**
+         * Creates the executor. The virtual threads executor is looked up by reflection to keep the Java 8
+         * compatibility.
+         *
+         * @return A virtual thread per task executor or a cached pool of daemon threads.
+         */
+        private static Executor create() {
+            try {
+                return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                        .setNameFormat("EzSQL-async-%d")
+                        .setDaemon(true)
+                        .build());
+            }
+        }
+    }
+
+    /**
+     * A callback that uses a prepared statement.
+     *
+     * @param <R> The result type.
+     */
+    @FunctionalInterface
+    public interface StatementCallback<R> {
+        /**
+         * Binds and executes the statement. The statement should not be closed.
+         *
+         * @param statement The prepared statement.
+         *
+         * @return The result.
+         *
+         * @throws SQLException Problems to execute the statement.
+         */
+        R apply(PreparedStatement statement) throws SQLException;
+    }
 }
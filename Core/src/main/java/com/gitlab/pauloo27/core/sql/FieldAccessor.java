@@ -0,0 +1,408 @@
+package com.gitlab.pauloo27.core.sql;
+
+import com.google.common.io.ByteStreams;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Field;
+
+/**
+ * Reads and writes a model field. The primitive setters avoid the boxing when the value is already primitive.
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+public interface FieldAccessor {
+
+    /**
+     * Creates an accessor to a field.
+     *
+     * @param field     The field. It's made accessible.
+     * @param generated If the accessor should use method handles instead of reflection. Falls back to reflection if the
+     *                  method handles cannot be created.
+     *
+     * @return The field accessor.
+     */
+    static FieldAccessor of(Field field, boolean generated) {
+        field.setAccessible(true);
+
+        if (generated) {
+            try {
+                return MethodHandleAccessor.create(field);
+            } catch (IllegalAccessException | RuntimeException e) {
+                // the reflection still works for the fields the lookup can't see
+            }
+        }
+
+        return new ReflectionAccessor(field);
+    }
+
+    /**
+     * Gets the field value from an object.
+     *
+     * @param object The object.
+     *
+     * @return The field value (boxed if the field is primitive).
+     */
+    Object get(Object object);
+
+    /**
+     * Sets the field value of an object.
+     *
+     * @param object The object.
+     * @param value  The new value. Primitive fields accept the wrapper of the field type.
+     */
+    void set(Object object, Object value);
+
+    /**
+     * Sets the value of an int field.
+     *
+     * @param object The object.
+     * @param value  The new value.
+     */
+    void setInt(Object object, int value);
+
+    /**
+     * Sets the value of a long field.
+     *
+     * @param object The object.
+     * @param value  The new value.
+     */
+    void setLong(Object object, long value);
+
+    /**
+     * Sets the value of a double field.
+     *
+     * @param object The object.
+     * @param value  The new value.
+     */
+    void setDouble(Object object, double value);
+
+    /**
+     * Accessor using {@link Field#get(Object)} and {@link Field#set(Object, Object)}.
+     */
+    class ReflectionAccessor implements FieldAccessor {
+
+        /**
+         * The field.
+         */
+        private final Field field;
+
+        /**
+         * Creates the accessor.
+         *
+         * @param field The accessible field.
+         */
+        ReflectionAccessor(Field field) {
+            this.field = field;
+        }
+
+        @Override
+        public Object get(Object object) {
+            try {
+                return field.get(object);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void set(Object object, Object value) {
+            try {
+                field.set(object, value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void setInt(Object object, int value) {
+            try {
+                field.setInt(object, value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void setLong(Object object, long value) {
+            try {
+                field.setLong(object, value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void setDouble(Object object, double value) {
+            try {
+                field.setDouble(object, value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Accessor using method handles created once per field. The JIT only folds a method handle to a constant (and
+     * inlines the field access) when it's read from a static final field, so each field gets its own copy of {@link
+     * ConstantHandles}, defined by a new class loader, holding the handles of that field in static final fields.
+     */
+    abstract class MethodHandleAccessor implements FieldAccessor {
+
+        /**
+         * The handles of the field which the {@link ConstantHandles} copy being initialized holds, in the order getter,
+         * setter, int setter, long setter and double setter.
+         */
+        protected static final ThreadLocal<MethodHandle[]> PENDING_HANDLES = new ThreadLocal<>();
+
+        /**
+         * Creates the accessor. Only the {@link ConstantHandles} copies extend it.
+         */
+        protected MethodHandleAccessor() {
+        }
+
+        /**
+         * Creates an accessor to a field.
+         *
+         * @param field The accessible field.
+         *
+         * @return The accessor.
+         *
+         * @throws IllegalAccessException If the lookup cannot access the field.
+         * @throws IllegalStateException  If the {@link ConstantHandles} copy cannot be defined.
+         */
+        static MethodHandleAccessor create(Field field) throws IllegalAccessException {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle rawSetter = lookup.unreflectSetter(field);
+            Class<?> type = field.getType();
+
+            PENDING_HANDLES.set(new MethodHandle[]{
+                    lookup.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class)),
+                    rawSetter.asType(MethodType.methodType(void.class, Object.class, Object.class)),
+                    primitiveSetter(rawSetter, type, int.class),
+                    primitiveSetter(rawSetter, type, long.class),
+                    primitiveSetter(rawSetter, type, double.class)
+            });
+
+            try {
+                Class<?> holder = new HolderLoader(MethodHandleAccessor.class.getClassLoader()).defineHolder();
+                return (MethodHandleAccessor) holder.getConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                throw new IllegalStateException("Cannot create the accessor of " + field, e);
+            } finally {
+                PENDING_HANDLES.remove();
+            }
+        }
+
+        /**
+         * Adapts the setter to a primitive value type.
+         *
+         * @param rawSetter The field setter.
+         * @param fieldType The field type.
+         * @param valueType The primitive value type.
+         *
+         * @return The adapted setter or null if the value type cannot be widened to the field type.
+         */
+        private static MethodHandle primitiveSetter(MethodHandle rawSetter, Class<?> fieldType, Class<?> valueType) {
+            if (!fieldType.isPrimitive())
+                return null;
+
+            try {
+                return rawSetter.asType(MethodType.methodType(void.class, Object.class, valueType));
+            } catch (ClassCastException | WrongMethodTypeException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Rethrows a method handle exception.
+         *
+         * @param throwable The exception.
+         *
+         * @return Never returns.
+         */
+        protected static RuntimeException rethrow(Throwable throwable) {
+            if (throwable instanceof RuntimeException)
+                throw (RuntimeException) throwable;
+            if (throwable instanceof Error)
+                throw (Error) throwable;
+            throw new IllegalStateException(throwable);
+        }
+
+        /**
+         * The accessor copied once per field. It's never used from the class loader of EzSQL, only the copies defined
+         * by {@link HolderLoader} are initialized, each one with the {@link #PENDING_HANDLES} of its field.
+         */
+        public static final class ConstantHandles extends MethodHandleAccessor {
+
+            /**
+             * The getter, typed as {@code (Object) Object}.
+             */
+            private static final MethodHandle GETTER;
+            /**
+             * The setter, typed as {@code (Object, Object) void}.
+             */
+            private static final MethodHandle SETTER;
+            /**
+             * The primitive setter, typed as {@code (Object, int) void}. It's null if the field doesn't accept an int.
+             */
+            private static final MethodHandle INT_SETTER;
+            /**
+             * The primitive setter, typed as {@code (Object, long) void}. It's null if the field doesn't accept a
+             * long.
+             */
+            private static final MethodHandle LONG_SETTER;
+            /**
+             * The primitive setter, typed as {@code (Object, double) void}. It's null if the field doesn't accept a
+             * double.
+             */
+            private static final MethodHandle DOUBLE_SETTER;
+
+            static {
+                MethodHandle[] handles = PENDING_HANDLES.get();
+                GETTER = handles[0];
+                SETTER = handles[1];
+                INT_SETTER = handles[2];
+                LONG_SETTER = handles[3];
+                DOUBLE_SETTER = handles[4];
+            }
+
+            /**
+             * Creates the accessor, called reflectively by {@link #create(Field)}.
+             */
+            public ConstantHandles() {
+            }
+
+            @Override
+            public Object get(Object object) {
+                try {
+                    return GETTER.invokeExact(object);
+                } catch (Throwable throwable) {
+                    throw rethrow(throwable);
+                }
+            }
+
+            @Override
+            public void set(Object object, Object value) {
+                try {
+                    SETTER.invokeExact(object, value);
+                } catch (Throwable throwable) {
+                    throw rethrow(throwable);
+                }
+            }
+
+            @Override
+            public void setInt(Object object, int value) {
+                if (INT_SETTER == null) {
+                    set(object, value);
+                    return;
+                }
+
+                try {
+                    INT_SETTER.invokeExact(object, value);
+                } catch (Throwable throwable) {
+                    throw rethrow(throwable);
+                }
+            }
+
+            @Override
+            public void setLong(Object object, long value) {
+                if (LONG_SETTER == null) {
+                    set(object, value);
+                    return;
+                }
+
+                try {
+                    LONG_SETTER.invokeExact(object, value);
+                } catch (Throwable throwable) {
+                    throw rethrow(throwable);
+                }
+            }
+
+            @Override
+            public void setDouble(Object object, double value) {
+                if (DOUBLE_SETTER == null) {
+                    set(object, value);
+                    return;
+                }
+
+                try {
+                    DOUBLE_SETTER.invokeExact(object, value);
+                } catch (Throwable throwable) {
+                    throw rethrow(throwable);
+                }
+            }
+        }
+
+        /**
+         * Defines a copy of {@link ConstantHandles}, delegating every other class to the class loader of EzSQL.
+         */
+        private static final class HolderLoader extends ClassLoader {
+
+            /**
+             * The name of the copied class.
+             */
+            private static final String HOLDER_NAME = ConstantHandles.class.getName();
+            /**
+             * The bytecode of the copied class. It's null if it cannot be read.
+             */
+            private static final byte[] HOLDER_BYTECODE = readHolderBytecode();
+
+            /**
+             * Creates the class loader.
+             *
+             * @param parent The class loader of EzSQL.
+             */
+            private HolderLoader(ClassLoader parent) {
+                super(parent);
+            }
+
+            /**
+             * Reads the bytecode of {@link ConstantHandles}.
+             *
+             * @return The bytecode or null if it cannot be read.
+             */
+            private static byte[] readHolderBytecode() {
+                String resource = HOLDER_NAME.replace('.', '/') + ".class";
+                try (InputStream stream = ConstantHandles.class.getClassLoader().getResourceAsStream(resource)) {
+                    return stream == null ? null : ByteStreams.toByteArray(stream);
+                } catch (IOException e) {
+                    return null;
+                }
+            }
+
+            /**
+             * Defines the copy of {@link ConstantHandles}.
+             *
+             * @return The copy.
+             */
+            private Class<?> defineHolder() {
+                if (HOLDER_BYTECODE == null)
+                    throw new IllegalStateException("Cannot read the bytecode of " + HOLDER_NAME);
+
+                synchronized (getClassLoadingLock(HOLDER_NAME)) {
+                    Class<?> holder = findLoadedClass(HOLDER_NAME);
+                    return holder != null ? holder : defineClass(HOLDER_NAME, HOLDER_BYTECODE, 0,
+                            HOLDER_BYTECODE.length);
+                }
+            }
+
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                if (!name.equals(HOLDER_NAME))
+                    return super.loadClass(name, resolve);
+
+                Class<?> holder = defineHolder();
+                if (resolve)
+                    resolveClass(holder);
+                return holder;
+            }
+        }
+    }
+}
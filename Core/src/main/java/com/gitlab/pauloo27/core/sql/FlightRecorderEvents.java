@@ -0,0 +1,168 @@
+package com.gitlab.pauloo27.core.sql;
+
+/**
+ * Emits the EzSQL Java Flight Recorder events: {@code ezsql.Execute} (a statement built and executed), {@code
+ * ezsql.Map} (a query result mapped to objects) and {@code ezsql.PoolWait} (a connection borrowed from the pool).
+ * <p>
+ * The events are only created if the JVM has the {@code jdk.jfr} module (Java 11 or newer, or Java 8u262 or newer) and
+ * the event is enabled in a running recording; otherwise the methods do nothing and the JFR classes are never loaded.
+ * The events themselves are in {@code src/main/java-jfr}, compiled only by a JDK with the JFR API (the {@code jfr}
+ * profile), and loaded by name, so the library still builds on older JDKs (without the events).
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+final class FlightRecorderEvents {
+
+    /**
+     * The name of the class that creates the events, in the JFR source set.
+     */
+    private static final String EVENTS_CLASS = "com.gitlab.pauloo27.core.sql.FlightRecorderEventSink";
+    /**
+     * Creates the events or null if the JVM doesn't have the JFR API or the library was built without the events.
+     */
+    private static final Sink SINK = loadSink();
+
+    /**
+     * Utility class.
+     */
+    private FlightRecorderEvents() {
+    }
+
+    /**
+     * Loads the class that creates the events.
+     *
+     * @return The sink or null if the JVM doesn't have the JFR API or the events weren't built.
+     */
+    private static Sink loadSink() {
+        ClassLoader loader = FlightRecorderEvents.class.getClassLoader();
+        try {
+            Class.forName("jdk.jfr.Event", false, loader);
+            return (Sink) Class.forName(EVENTS_CLASS, true, loader).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Starts an execute event.
+     *
+     * @return The started event or null if the event is disabled.
+     */
+    static Object beginExecute() {
+        return SINK == null ? null : SINK.beginExecute();
+    }
+
+    /**
+     * Ends and commits an execute event.
+     *
+     * @param event         The event from {@link #beginExecute()}. It's nullable.
+     * @param table         The table name. It's nullable.
+     * @param statementType The statement type (the statement class name).
+     * @param rows          The updated rows or -1 if unknown.
+     */
+    static void commitExecute(Object event, String table, String statementType, long rows) {
+        if (event != null)
+            SINK.commitExecute(event, table, statementType, rows);
+    }
+
+    /**
+     * Starts a map event.
+     *
+     * @return The started event or null if the event is disabled.
+     */
+    static Object beginMap() {
+        return SINK == null ? null : SINK.beginMap();
+    }
+
+    /**
+     * Ends and commits a map event.
+     *
+     * @param event The event from {@link #beginMap()}. It's nullable.
+     * @param table The table name of the model. It's nullable.
+     * @param type  The model class.
+     * @param rows  The mapped rows.
+     */
+    static void commitMap(Object event, String table, Class<?> type, long rows) {
+        if (event != null)
+            SINK.commitMap(event, table, type, rows);
+    }
+
+    /**
+     * Starts a pool wait event.
+     *
+     * @return The started event or null if the event is disabled.
+     */
+    static Object beginPoolWait() {
+        return SINK == null ? null : SINK.beginPoolWait();
+    }
+
+    /**
+     * Ends and commits a pool wait event.
+     *
+     * @param event    The event from {@link #beginPoolWait()}. It's nullable.
+     * @param borrowed The amount of borrowed connections, after borrowing.
+     * @param size     The amount of open connections.
+     */
+    static void commitPoolWait(Object event, int borrowed, int size) {
+        if (event != null)
+            SINK.commitPoolWait(event, borrowed, size);
+    }
+
+    /**
+     * Creates and commits the events, implemented with the JFR API.
+     */
+    interface Sink {
+
+        /**
+         * Starts an execute event.
+         *
+         * @return The started event or null if the event is disabled.
+         */
+        Object beginExecute();
+
+        /**
+         * Ends and commits an execute event.
+         *
+         * @param started       The event from {@link #beginExecute()}.
+         * @param table         The table name. It's nullable.
+         * @param statementType The statement type.
+         * @param rows          The updated rows or -1 if unknown.
+         */
+        void commitExecute(Object started, String table, String statementType, long rows);
+
+        /**
+         * Starts a map event.
+         *
+         * @return The started event or null if the event is disabled.
+         */
+        Object beginMap();
+
+        /**
+         * Ends and commits a map event.
+         *
+         * @param started The event from {@link #beginMap()}.
+         * @param table   The table name of the model. It's nullable.
+         * @param type    The model class.
+         * @param rows    The mapped rows.
+         */
+        void commitMap(Object started, String table, Class<?> type, long rows);
+
+        /**
+         * Starts a pool wait event.
+         *
+         * @return The started event or null if the event is disabled.
+         */
+        Object beginPoolWait();
+
+        /**
+         * Ends and commits a pool wait event.
+         *
+         * @param started  The event from {@link #beginPoolWait()}.
+         * @param borrowed The amount of borrowed connections, after borrowing.
+         * @param size     The amount of open connections.
+         */
+        void commitPoolWait(Object started, int borrowed, int size);
+    }
+}
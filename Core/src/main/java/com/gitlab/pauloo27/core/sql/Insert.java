@@ -25,6 +25,10 @@ public class Insert extends UpdateStatementBase<Insert> {
      * The list of values to insert.
      */
     private List<Object> objectList;
+    /**
+     * The binders of the values, in the same order. It's null if the binders are found by the values class.
+     */
+    private List<ParameterBinder<Object>> binders;
 
     /**
      * Builds a insert statement.
@@ -65,6 +69,38 @@ public class Insert extends UpdateStatementBase<Insert> {
         return objectList;
     }
 
+    /**
+     * Sets the binders of the values, already resolved by the model columns.
+     *
+     * @param binders The binders, in the order of the values. A null binder is found by the value class.
+     *
+     * @return The current object instance.
+     */
+    Insert withBinders(List<ParameterBinder<Object>> binders) {
+        Preconditions.checkArgument(binders.size() == objectList.size(), "There should be a binder per value");
+        this.binders = binders;
+        return this;
+    }
+
+    /**
+     * Gets the binders of the values.
+     *
+     * @return The binders, in the order of the values, or null if they're found by the values class.
+     */
+    public List<ParameterBinder<Object>> getBinders() {
+        return binders;
+    }
+
+    /**
+     * Gets the statement parameters, in the order of the {@code ?} in the SQL.
+     *
+     * @return The values to insert.
+     */
+    @Override
+    public List<Object> getParameters() {
+        return objectList;
+    }
+
     /**
      * Gets the ordered columns' name separated by ", ".
      *
@@ -97,11 +133,25 @@ public class Insert extends UpdateStatementBase<Insert> {
                             .join(Collections.nCopies(getColumnsCount(), "?")))));
     }
 
+    @Override
+    String toSQL() {
+        return sql.toSQL(this, table);
+    }
+
     @Override
     protected UpdateResult getResultType() throws SQLException {
         return new UpdateResult(sql, sql.build(this, table));
     }
 
+    /**
+     * Removes the cached queries of the table. The inserted rows aren't in the table entity cache.
+     */
+    @Override
+    void afterExecute() {
+        if (table != null)
+            sql.tableChanged(table.getName(), Collections.emptyList());
+    }
+
     /**
      * Gets the statement converted to SQL.
      *
@@ -0,0 +1,35 @@
+package com.gitlab.pauloo27.core.sql;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Binds a statement parameter using the setter of its type ({@link PreparedStatement#setInt(int, int)}, for example),
+ * so the driver doesn't need to inspect the value like in {@link PreparedStatement#setObject(int, Object)}.
+ *
+ * @param <T> The parameter type.
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ * @see EzSQL#registerBinder(Class, ParameterBinder)
+ */
+@FunctionalInterface
+public interface ParameterBinder<T> {
+
+    /**
+     * The binder used to the types without a registered binder and to the null values.
+     */
+    ParameterBinder<Object> OBJECT = PreparedStatement::setObject;
+
+    /**
+     * Binds a parameter.
+     *
+     * @param statement The statement.
+     * @param index     The parameter index, starting with 1.
+     * @param value     The parameter value. It's only null in {@link #OBJECT}, used to bind the null values.
+     *
+     * @throws SQLException Problems to set the parameter.
+     */
+    void bind(PreparedStatement statement, int index, T value) throws SQLException;
+}
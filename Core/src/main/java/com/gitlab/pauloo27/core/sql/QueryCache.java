@@ -0,0 +1,289 @@
+package com.gitlab.pauloo27.core.sql;
+
+import com.google.common.base.Preconditions;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetFactory;
+import javax.sql.rowset.RowSetProvider;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A LRU cache of query results, keyed by the table, the SQL and the parameters, used by the selects with {@link
+ * Select#cached(long, java.util.concurrent.TimeUnit)}. The rows are copied to a {@link CachedRowSet} and each cache hit
+ * reads them with its own cursor. Each result records every table the query reads (the selected table and the joined
+ * ones) and it's removed when a statement changes any of them through the same EzSQL (see {@link
+ * EzSQL#invalidateQueries(String)}).
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+public class QueryCache {
+
+    /**
+     * The row set factory, created when the first result is cached.
+     */
+    private static volatile RowSetFactory rowSetFactory;
+
+    /**
+     * The maximum number of cached results.
+     */
+    private final int maxSize;
+    /**
+     * The cached results by the key, the least recently used first.
+     */
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * Incremented by every invalidation, so a result loaded while a table was changed isn't cached.
+     */
+    private long generation;
+
+    /**
+     * The number of lookups that found a cached result.
+     */
+    private long hits;
+    /**
+     * The number of lookups that didn't find a cached result (or found an expired one).
+     */
+    private long misses;
+    /**
+     * The number of results removed to respect the cache size.
+     */
+    private long evictions;
+
+    /**
+     * Builds a query cache.
+     *
+     * @param maxSize The maximum number of cached results.
+     */
+    public QueryCache(int maxSize) {
+        Preconditions.checkArgument(maxSize > 0, "The cache size should be positive");
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets a cached result.
+     *
+     * @param table      The table name.
+     * @param statement  The SQL.
+     * @param parameters The parameters.
+     *
+     * @return A result set sharing the cached rows with its own cursor or null if the result isn't cached or it
+     * expired.
+     *
+     * @throws SQLException Problems to create the result set.
+     */
+    public ResultSet get(String table, String statement, List<Object> parameters) throws SQLException {
+        CachedRowSet rows;
+        synchronized (this) {
+            Key key = new Key(table, statement, parameters);
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt - System.nanoTime() <= 0) {
+                entries.remove(key);
+                entry = null;
+            }
+
+            if (entry == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+            rows = entry.rows;
+        }
+        return rows.createShared();
+    }
+
+    /**
+     * Gets the current generation, to be passed to {@link #put(String, Collection, String, List, ResultSet, long,
+     * long)} before executing the query.
+     *
+     * @return The number of invalidations.
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Copies the rows of a result set and caches them. If the cache is full, the least recently used result is
+     * removed.
+     *
+     * @param table        The table name.
+     * @param joinedTables The names of the other tables read by the query (the joined tables).
+     * @param statement    The SQL.
+     * @param parameters   The parameters.
+     * @param result       The result set. All the rows are read, but it's not closed.
+     * @param timeToLive   The time (in nanoseconds) that the result stays cached.
+     * @param generation   The generation got before executing the query. If the cache was invalidated since then, the
+     *                     result may be outdated and isn't cached.
+     *
+     * @return A result set with the copied rows.
+     *
+     * @throws SQLException Problems to read the result set.
+     */
+    public ResultSet put(String table, Collection<String> joinedTables, String statement, List<Object> parameters, ResultSet result, long timeToLive, long generation) throws SQLException {
+        CachedRowSet rows = getRowSetFactory().createCachedRowSet();
+        rows.populate(result);
+        rows.beforeFirst();
+
+        Set<String> tables = new HashSet<>(joinedTables);
+        tables.add(table);
+
+        synchronized (this) {
+            if (generation == this.generation) {
+                entries.put(new Key(table, statement, new ArrayList<>(parameters)), new Entry(rows, tables, System.nanoTime() + timeToLive));
+                if (entries.size() > maxSize) {
+                    Iterator<Key> eldest = entries.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                    evictions++;
+                }
+            }
+        }
+        return rows.createShared();
+    }
+
+    /**
+     * Removes the cached results that read a table.
+     *
+     * @param table The table name.
+     */
+    public synchronized void invalidate(String table) {
+        generation++;
+        entries.values().removeIf(entry -> entry.tables.contains(table));
+    }
+
+    /**
+     * Removes all the cached results.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    /**
+     * Gets the number of cached results, including the expired ones not removed yet.
+     *
+     * @return The number of cached results.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the cache counters.
+     *
+     * @return The cache stats.
+     */
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits, misses, evictions);
+    }
+
+    /**
+     * Gets the row set factory.
+     *
+     * @return The default row set factory.
+     *
+     * @throws SQLException Problems to find the factory implementation.
+     */
+    private static RowSetFactory getRowSetFactory() throws SQLException {
+        RowSetFactory factory = rowSetFactory;
+        if (factory == null)
+            rowSetFactory = factory = RowSetProvider.newFactory();
+        return factory;
+    }
+
+    /**
+     * The key of a cached result.
+     */
+    private static class Key {
+
+        /**
+         * The table name.
+         */
+        private final String table;
+        /**
+         * The SQL.
+         */
+        private final String statement;
+        /**
+         * The parameters.
+         */
+        private final List<Object> parameters;
+        /**
+         * The hash code, computed once.
+         */
+        private final int hash;
+
+        /**
+         * Builds a key.
+         *
+         * @param table      The table name.
+         * @param statement  The SQL.
+         * @param parameters The parameters.
+         */
+        private Key(String table, String statement, List<Object> parameters) {
+            this.table = table;
+            this.statement = statement;
+            this.parameters = parameters;
+            this.hash = Objects.hash(table, statement, parameters);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Key))
+                return false;
+
+            Key key = (Key) o;
+            return hash == key.hash && table.equals(key.table) && statement.equals(key.statement)
+                    && parameters.equals(key.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * A cached result.
+     */
+    private static class Entry {
+
+        /**
+         * The copied rows.
+         */
+        private final CachedRowSet rows;
+        /**
+         * The tables read by the query.
+         */
+        private final Set<String> tables;
+        /**
+         * When the result expires, in {@link System#nanoTime()}.
+         */
+        private final long expiresAt;
+
+        /**
+         * Builds a cached result.
+         *
+         * @param rows      The copied rows.
+         * @param tables    The tables read by the query.
+         * @param expiresAt When the result expires.
+         */
+        private Entry(CachedRowSet rows, Set<String> tables, long expiresAt) {
+            this.rows = rows;
+            this.tables = tables;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
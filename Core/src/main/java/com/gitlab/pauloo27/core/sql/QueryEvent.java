@@ -0,0 +1,266 @@
+package com.gitlab.pauloo27.core.sql;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The timings of an executed statement, sent to the {@link QueryListener}s. The phases are measured with {@link
+ * System#nanoTime()}:
+ * <ul>
+ * <li>prepare: getting the connection and preparing (or getting from the cache) the statement;</li>
+ * <li>bind: setting the parameters;</li>
+ * <li>execute: running the statement;</li>
+ * <li>mapping: from the execution to the result closing, reading the rows of the queries.</li>
+ * </ul>
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+public class QueryEvent {
+
+    /**
+     * The SQL, with a {@code ?} for each parameter.
+     */
+    private final String sql;
+    /**
+     * The table name. It's nullable.
+     */
+    private final String table;
+    /**
+     * The bound parameters or null if they are not captured.
+     */
+    private final List<Object> parameters;
+    /**
+     * The prepared statement, kept until the execution starts.
+     */
+    private PreparedStatement statement;
+    /**
+     * When the statement started to be prepared.
+     */
+    private final long started;
+    /**
+     * When the statement was prepared.
+     */
+    private long prepared;
+    /**
+     * When the parameters were bound.
+     */
+    private long bound;
+    /**
+     * When the statement was executed.
+     */
+    private long executed;
+    /**
+     * When the result was closed.
+     */
+    private long closed;
+    /**
+     * The read or updated rows or -1 if unknown.
+     */
+    private int rows = -1;
+    /**
+     * The execution failure. It's nullable.
+     */
+    private Throwable failure;
+
+    /**
+     * Starts the timing of a statement.
+     *
+     * @param sql               The SQL.
+     * @param table             The table name or null if unknown.
+     * @param captureParameters If the bound parameters are kept.
+     */
+    QueryEvent(String sql, String table, boolean captureParameters) {
+        this.sql = sql;
+        this.table = table;
+        this.parameters = captureParameters ? new ArrayList<>() : null;
+        this.started = System.nanoTime();
+    }
+
+    /**
+     * Marks the end of the prepare phase.
+     *
+     * @param statement The prepared statement.
+     */
+    void prepared(PreparedStatement statement) {
+        this.statement = statement;
+        this.prepared = System.nanoTime();
+    }
+
+    /**
+     * Forgets the prepared statement, when the timing is taken by its result.
+     */
+    void taken() {
+        this.statement = null;
+    }
+
+    /**
+     * Keeps a bound parameter, if the parameters are captured.
+     *
+     * @param value The parameter value.
+     */
+    void addParameter(Object value) {
+        if (parameters != null)
+            parameters.add(value);
+    }
+
+    /**
+     * Marks the end of the bind phase.
+     */
+    void bound() {
+        this.bound = System.nanoTime();
+    }
+
+    /**
+     * Marks the end of the execute phase.
+     *
+     * @param rows The updated rows or -1 if unknown. The read rows of the queries are counted with {@link #addRow()}.
+     */
+    void executed(int rows) {
+        this.rows = rows;
+        this.executed = System.nanoTime();
+    }
+
+    /**
+     * Marks the end of the execute phase of a failed statement.
+     *
+     * @param failure The execution failure.
+     */
+    void failed(Throwable failure) {
+        this.failure = failure;
+        this.executed = System.nanoTime();
+    }
+
+    /**
+     * Counts a read row.
+     */
+    void addRow() {
+        rows++;
+    }
+
+    /**
+     * Marks the end of the mapping phase.
+     */
+    void closed() {
+        this.closed = System.nanoTime();
+    }
+
+    /**
+     * Gets the prepared statement, if the execution didn't start yet.
+     *
+     * @return The prepared statement or null.
+     */
+    PreparedStatement getStatement() {
+        return statement;
+    }
+
+    /**
+     * Gets the SQL. The statements built with different values but the same shape have the same SQL.
+     *
+     * @return The SQL with a {@code ?} for each parameter.
+     */
+    public String getSQL() {
+        return sql;
+    }
+
+    /**
+     * Gets the table name.
+     *
+     * @return The table name or null if the statement wasn't built from a table.
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * Gets the bound parameters, in order. They are only captured if a listener needs them (see {@link
+     * QueryListener#isCapturingParameters()}).
+     *
+     * @return The unmodifiable list of parameters, empty if they were not captured.
+     */
+    public List<Object> getParameters() {
+        return parameters == null ? Collections.emptyList() : Collections.unmodifiableList(parameters);
+    }
+
+    /**
+     * Gets the read rows (queries) or the updated rows.
+     *
+     * @return The rows or -1 if unknown.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the execution failure.
+     *
+     * @return The exception thrown by the execution or null if it succeeded.
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * Checks if the execution failed.
+     *
+     * @return If the execution failed.
+     */
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    /**
+     * Gets the prepare phase time.
+     *
+     * @return The prepare time in nanoseconds.
+     */
+    public long getPrepareNanos() {
+        return prepared - started;
+    }
+
+    /**
+     * Gets the bind phase time.
+     *
+     * @return The bind time in nanoseconds.
+     */
+    public long getBindNanos() {
+        return bound - prepared;
+    }
+
+    /**
+     * Gets the execute phase time.
+     *
+     * @return The execute time in nanoseconds.
+     */
+    public long getExecuteNanos() {
+        return executed - bound;
+    }
+
+    /**
+     * Gets the mapping phase time.
+     *
+     * @return The time between the execution and the result closing in nanoseconds.
+     */
+    public long getMappingNanos() {
+        return closed - executed;
+    }
+
+    /**
+     * Gets the total time.
+     *
+     * @return The time between the prepare start and the result closing in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return closed - started;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [table=%s, rows=%d, prepare=%dns, bind=%dns, execute=%dns, mapping=%dns%s]",
+                sql, table, rows, getPrepareNanos(), getBindNanos(), getExecuteNanos(), getMappingNanos(),
+                failure == null ? "" : ", failure=" + failure);
+    }
+}
@@ -0,0 +1,283 @@
+package com.gitlab.pauloo27.core.sql;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A query listener that keeps a latency histogram (the total time of the {@link QueryEvent}) per SQL, to get the
+ * percentiles of each query shape.
+ * <p>
+ * The latencies are counted in log-linear buckets (16 buckets per power of 2), so the percentiles have up to 6.25% of
+ * error. Recording doesn't lock nor allocate after the first event of a SQL.
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+public class QueryHistogram implements QueryListener {
+
+    /**
+     * The default max amount of SQL shapes.
+     */
+    public static final int DEFAULT_MAX_SHAPES = 1024;
+
+    /**
+     * The histograms by the SQL.
+     */
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    /**
+     * The max amount of SQL shapes. The events of the new shapes are ignored after it.
+     */
+    private final int maxShapes;
+
+    /**
+     * Creates a query histogram that keeps up to {@link #DEFAULT_MAX_SHAPES} SQL shapes.
+     */
+    public QueryHistogram() {
+        this(DEFAULT_MAX_SHAPES);
+    }
+
+    /**
+     * Creates a query histogram.
+     *
+     * @param maxShapes The max amount of SQL shapes. The events of the new shapes are ignored after it.
+     */
+    public QueryHistogram(int maxShapes) {
+        Preconditions.checkArgument(maxShapes > 0, "Max shapes must be greater than 0");
+        this.maxShapes = maxShapes;
+    }
+
+    @Override
+    public void onQuery(QueryEvent event) {
+        Histogram histogram = histograms.get(event.getSQL());
+        if (histogram == null) {
+            if (histograms.size() >= maxShapes)
+                return;
+
+            histogram = histograms.computeIfAbsent(event.getSQL(), sql -> new Histogram());
+        }
+
+        histogram.record(event.getTotalNanos(), event.isFailed());
+    }
+
+    /**
+     * Gets the histogram of a SQL.
+     *
+     * @param sql The SQL, with a {@code ?} for each parameter.
+     *
+     * @return The histogram or null if no statement with the SQL was recorded.
+     */
+    public Histogram get(String sql) {
+        return histograms.get(sql);
+    }
+
+    /**
+     * Gets the histograms.
+     *
+     * @return The unmodifiable live view of the histograms by the SQL.
+     */
+    public Map<String, Histogram> getHistograms() {
+        return Collections.unmodifiableMap(histograms);
+    }
+
+    /**
+     * Removes all the histograms.
+     */
+    public void reset() {
+        histograms.clear();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        histograms.forEach((sql, histogram) -> builder.append(sql).append(' ').append(histogram).append('\n'));
+        return builder.toString();
+    }
+
+    /**
+     * The latency histogram of a SQL shape.
+     */
+    public static class Histogram {
+
+        /**
+         * The amount of linear buckets per power of 2.
+         */
+        private static final int SUB_BUCKETS = 16;
+        /**
+         * The log2 of {@link #SUB_BUCKETS}.
+         */
+        private static final int SUB_BUCKET_BITS = 4;
+        /**
+         * The amount of buckets, enough to any positive long.
+         */
+        private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+        /**
+         * The amount of values in each bucket.
+         */
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        /**
+         * The amount of values.
+         */
+        private final LongAdder count = new LongAdder();
+        /**
+         * The amount of failed statements.
+         */
+        private final LongAdder failures = new LongAdder();
+        /**
+         * The sum of the values.
+         */
+        private final LongAdder sum = new LongAdder();
+        /**
+         * The min value.
+         */
+        private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+        /**
+         * The max value.
+         */
+        private final AtomicLong max = new AtomicLong();
+
+        /**
+         * Creates an empty histogram.
+         */
+        Histogram() {
+        }
+
+        /**
+         * Records a latency.
+         *
+         * @param nanos  The latency in nanoseconds.
+         * @param failed If the statement failed.
+         */
+        void record(long nanos, boolean failed) {
+            nanos = Math.max(0, nanos);
+
+            buckets.incrementAndGet(bucketOf(nanos));
+            count.increment();
+            sum.add(nanos);
+            if (failed)
+                failures.increment();
+
+            min.accumulateAndGet(nanos, Math::min);
+            max.accumulateAndGet(nanos, Math::max);
+        }
+
+        /**
+         * Gets the amount of recorded statements.
+         *
+         * @return The amount of statements.
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Gets the amount of failed statements.
+         *
+         * @return The amount of failed statements.
+         */
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        /**
+         * Gets the min latency.
+         *
+         * @return The min latency in nanoseconds or 0 if empty.
+         */
+        public long getMin() {
+            return getCount() == 0 ? 0 : min.get();
+        }
+
+        /**
+         * Gets the max latency.
+         *
+         * @return The max latency in nanoseconds.
+         */
+        public long getMax() {
+            return max.get();
+        }
+
+        /**
+         * Gets the mean latency.
+         *
+         * @return The mean latency in nanoseconds or 0 if empty.
+         */
+        public double getMean() {
+            long count = getCount();
+            return count == 0 ? 0 : (double) sum.sum() / count;
+        }
+
+        /**
+         * Gets a latency percentile.
+         *
+         * @param percentile The percentile, from 0 to 100 (99 to the p99, for example).
+         *
+         * @return The upper bound of the bucket with the percentile, in nanoseconds, or 0 if empty.
+         */
+        public long getPercentile(double percentile) {
+            Preconditions.checkArgument(percentile >= 0 && percentile <= 100, "Percentile must be between 0 and 100");
+
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                total += buckets.get(i);
+            }
+            if (total == 0)
+                return 0;
+
+            long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank)
+                    return Math.min(upperBoundOf(i), getMax());
+            }
+            return getMax();
+        }
+
+        /**
+         * Gets the bucket of a value.
+         *
+         * @param value The value, not negative.
+         *
+         * @return The bucket index.
+         */
+        static int bucketOf(long value) {
+            if (value < SUB_BUCKETS)
+                return (int) value;
+
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        /**
+         * Gets the max value of a bucket.
+         *
+         * @param bucket The bucket index.
+         *
+         * @return The max value counted in the bucket.
+         */
+        static long upperBoundOf(int bucket) {
+            if (bucket < SUB_BUCKETS)
+                return bucket;
+
+            int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            int subBucket = bucket % SUB_BUCKETS;
+            long lowerBound = (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+            return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("[count=%d, failures=%d, mean=%.0fns, p50=%dns, p99=%dns, max=%dns]",
+                    getCount(), getFailures(), getMean(), getPercentile(50), getPercentile(99), getMax());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.gitlab.pauloo27.core.sql;
+
+/**
+ * Listens to the executed statements, to record metrics or log them.
+ * <p>
+ * The listeners are called in the thread that closes the result, after the statement is given back. They should be
+ * fast and thread-safe; the exceptions they throw are printed and ignored.
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ * @see EzSQL#withQueryListener(QueryListener)
+ * @see QueryHistogram
+ */
+@FunctionalInterface
+public interface QueryListener {
+
+    /**
+     * Called when a statement is done: its result was closed or it failed.
+     *
+     * @param event The statement timings.
+     */
+    void onQuery(QueryEvent event);
+
+    /**
+     * Checks if the listener needs the bound parameters of the statements ({@link QueryEvent#getParameters()}). The
+     * parameters are kept until the statement is done only if a listener needs them.
+     *
+     * @return If the parameters should be captured. The default is false.
+     */
+    default boolean isCapturingParameters() {
+        return false;
+    }
+}
@@ -6,8 +6,11 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * The query result.
@@ -35,7 +38,27 @@ public class QueryResult extends Result {
 
     public QueryResult(EzSQL sql, PreparedStatement statement) throws SQLException {
         super(sql, statement);
-        this.result = this.getStatement().executeQuery();
+        try {
+            this.result = this.getStatement().executeQuery();
+            if (event != null)
+                event.executed(0);
+        } catch (SQLException | RuntimeException e) {
+            if (event != null)
+                event.failed(e);
+            this.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a result from a result set without statement, used to read the cached results.
+     *
+     * @param sql    The EzSQL connection.
+     * @param result The result set.
+     */
+    QueryResult(EzSQL sql, ResultSet result) {
+        super(sql, null);
+        this.result = result;
     }
 
     /**
@@ -49,7 +72,7 @@ public class QueryResult extends Result {
 
     /**
      * Builds an object from the ResultSet. If the ResultSet is empty, returns null. If the ResultSet contains more than
-     * one value, returns only the first one.
+     * one value, returns only the first one. The result is closed after building the object.
      *
      * @param clazz   The object type to build from the ResultSet.
      * @param handler The exception handler.
@@ -61,14 +84,13 @@ public class QueryResult extends Result {
      */
     @CheckReturnValue
     public <T> T to(Class<T> clazz, ExceptionHandler handler) {
+        Object event = FlightRecorderEvents.beginMap();
+        T object = null;
         try {
-            T row = clazz.newInstance();
-
-            if (!result.next())
+            if (!nextRow())
                 return null;
 
-            T object = createObject(row);
-            result.close();
+            object = createMapper(clazz).map(result);
             return object;
         } catch (Exception e) {
             if (handler == null)
@@ -76,12 +98,15 @@ public class QueryResult extends Result {
             else
                 handler.onException(e);
             return null;
+        } finally {
+            closeQuietly(handler);
+            commitMapEvent(event, clazz, object == null ? 0 : 1);
         }
     }
 
     /**
      * Builds an object from the ResultSet. If the ResultSet is empty, returns null. If the ResultSet contains more than
-     * one value, returns only the first one.
+     * one value, returns only the first one. The result is closed after building the object.
      *
      * @param clazz The object type to build from the ResultSet.
      * @param <T>   The object type to build from the ResultSet.
@@ -96,7 +121,7 @@ public class QueryResult extends Result {
     }
 
     /**
-     * Builds the entire ResultSet to an object list.
+     * Builds the entire ResultSet to an object list. The result is closed after building the list.
      *
      * @param clazz   The object type to build from the ResultSet.
      * @param handler The exception handler.
@@ -108,14 +133,14 @@ public class QueryResult extends Result {
      */
     @CheckReturnValue
     public <T> List<T> toList(Class<T> clazz, ExceptionHandler handler) {
+        Object event = FlightRecorderEvents.beginMap();
+        List<T> list = new ArrayList<>();
         try {
+            RowMapper<T> mapper = createMapper(clazz);
 
-            List<T> list = new ArrayList<>();
-            while (result.next()) {
-                T object = createObject(clazz.newInstance());
-                list.add(object);
+            while (nextRow()) {
+                list.add(mapper.map(result));
             }
-            result.close();
             return list;
         } catch (Exception e) {
             if (handler == null)
@@ -123,11 +148,34 @@ public class QueryResult extends Result {
             else
                 handler.onException(e);
             return null;
+        } finally {
+            closeQuietly(handler);
+            commitMapEvent(event, clazz, list.size());
+        }
+    }
+
+    /**
+     * Commits a {@code ezsql.Map} flight recorder event.
+     *
+     * @param event The event. It's nullable.
+     * @param clazz The mapped class.
+     * @param rows  The amount of mapped rows.
+     */
+    private void commitMapEvent(Object event, Class<?> clazz, int rows) {
+        if (event == null)
+            return;
+
+        String table;
+        try {
+            table = sql.getEntityMetadata(clazz).getTableName();
+        } catch (RuntimeException e) {
+            table = null;
         }
+        FlightRecorderEvents.commitMap(event, table, clazz, rows);
     }
 
     /**
-     * Builds the entire ResultSet to an object list.
+     * Builds the entire ResultSet to an object list. The result is closed after building the list.
      *
      * @param clazz The object type to build from the ResultSet.
      * @param <T>   The object type to build from the ResultSet.
@@ -142,36 +190,110 @@ public class QueryResult extends Result {
     }
 
     /**
-     * Creates a object from the ResultSet.
+     * Iterates the ResultSet building one object per row, without keeping the entire result in memory. The result is
+     * closed after the last row or when the iterator is closed. Use try-with-resources if the iteration can stop early.
      *
-     * @param object The object instance.
-     * @param <T>    The object to create type.
+     * @param clazz The object type to build from the ResultSet.
+     * @param <T>   The object type to build from the ResultSet.
      *
-     * @return The created object.
+     * @return The lazy iterator.
+     *
+     * @throws SQLException Problems to read the result metadata.
+     * @see Select#fetchSize(int) to make the driver stream the rows.
      */
-    private <T> T createObject(T object) {
-        Arrays.stream(object.getClass().getDeclaredFields())
-                .forEach(field -> {
-                    field.setAccessible(true);
+    @CheckReturnValue
+    public <T> ResultIterator<T> iterator(Class<T> clazz) throws SQLException {
+        try {
+            return new ResultIterator<>(this, createMapper(clazz));
+        } catch (SQLException | RuntimeException e) {
+            this.close();
+            throw e;
+        }
+    }
 
-                    if (ReflectionUtils.isIgnored(field))
-                        return;
+    /**
+     * Streams the ResultSet building one object per row, without keeping the entire result in memory. The result is
+     * closed after the last row or when the stream is closed. Use try-with-resources if the stream can stop early (with
+     * {@code findFirst()} or {@code limit()}, for example).
+     *
+     * @param clazz The object type to build from the ResultSet.
+     * @param <T>   The object type to build from the ResultSet.
+     *
+     * @return The lazy stream.
+     *
+     * @throws SQLException Problems to read the result metadata.
+     * @see Select#fetchSize(int) to make the driver stream the rows.
+     */
+    @CheckReturnValue
+    public <T> Stream<T> stream(Class<T> clazz) throws SQLException {
+        ResultIterator<T> iterator = iterator(clazz);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
 
-                    String name = ReflectionUtils.getName(sql.getNameConverter(), field);
+    /**
+     * Moves to the next row of the ResultSet, counting the read rows to the query listeners.
+     *
+     * @return If there's a row.
+     *
+     * @throws SQLException Problems to read the next row.
+     */
+    boolean nextRow() throws SQLException {
+        if (!result.next())
+            return false;
 
-                    try {
-                        int columnIndex = result.findColumn(name);
+        if (event != null)
+            event.addRow();
+        return true;
+    }
 
-                        Object value = result.getObject(columnIndex);
+    /**
+     * Creates the row mapper of the result. The column indexes are resolved once and reused for every row.
+     *
+     * @param clazz The object type to build from the ResultSet.
+     * @param <T>   The object type to build from the ResultSet.
+     *
+     * @return The row mapper.
+     *
+     * @throws SQLException Problems to read the result metadata.
+     */
+    public <T> RowMapper<T> createMapper(Class<T> clazz) throws SQLException {
+        return new RowMapper<>(sql.getEntityMetadata(clazz), result.getMetaData());
+    }
 
-                        if (value != null)
-                            field.set(object, sql.getSerializerByClass(field.getType()).getDeserializer().apply(field.getType(), value));
-                    } catch (SQLException | IllegalAccessException e) {
-                        e.printStackTrace();
-                    }
-                });
+    /**
+     * Closes the result set and the statement. The cached results aren't closed, only marked as closed.
+     *
+     * @throws SQLException If a database access error occurs.
+     */
+    @Override
+    public void close() throws SQLException {
+        if (isClosed())
+            return;
 
-        return object;
+        try {
+            // closing a cached row set clears the rows shared with the cache
+            if (result != null && statement != null)
+                result.close();
+        } finally {
+            super.close();
+        }
+    }
+
+    /**
+     * Closes the result handling the exception.
+     *
+     * @param handler The exception handler.
+     */
+    private void closeQuietly(ExceptionHandler handler) {
+        try {
+            close();
+        } catch (SQLException e) {
+            if (handler == null)
+                e.printStackTrace();
+            else
+                handler.onException(e);
+        }
     }
 
     /**
@@ -183,8 +305,8 @@ public class QueryResult extends Result {
      * @return The first column/row value.
      */
     public <T> T getFirstColumn(ExceptionHandler handler) {
-        try (ResultSet result = getResultSet()) {
-            if (result.next())
+        try (QueryResult ignored = this) {
+            if (nextRow())
                 return (T) result.getObject(1);
         } catch (SQLException e) {
             if (handler != null)
@@ -216,8 +338,8 @@ public class QueryResult extends Result {
      * @return The first column/row value as an int.
      */
     public int getFirstColumnAsInt(ExceptionHandler handler) {
-        try (ResultSet result = getResultSet()) {
-            if (result.next())
+        try (QueryResult ignored = this) {
+            if (nextRow())
                 return result.getInt(1);
         } catch (SQLException e) {
             if (handler != null)
@@ -247,8 +369,8 @@ public class QueryResult extends Result {
      * @return The first column/row value as a long.
      */
     public long getFirstColumnAsLong(ExceptionHandler handler) {
-        try (ResultSet result = getResultSet()) {
-            if (result.next())
+        try (QueryResult ignored = this) {
+            if (nextRow())
                 return result.getLong(1);
         } catch (SQLException e) {
             if (handler != null)
@@ -278,8 +400,8 @@ public class QueryResult extends Result {
      * @return The first column/row value as a boolean.
      */
     public boolean getFirstColumnAsBoolean(ExceptionHandler handler) {
-        try (ResultSet result = getResultSet()) {
-            if (result.next())
+        try (QueryResult ignored = this) {
+            if (nextRow())
                 return result.getBoolean(1);
         } catch (SQLException e) {
             if (handler != null)
@@ -309,8 +431,8 @@ public class QueryResult extends Result {
      * @return The first column/row value as a double.
      */
     public double getFirstColumnAsDouble(ExceptionHandler handler) {
-        try (ResultSet result = getResultSet()) {
-            if (result.next())
+        try (QueryResult ignored = this) {
+            if (nextRow())
                 return result.getDouble(1);
         } catch (SQLException e) {
             if (handler != null)
@@ -22,15 +22,34 @@ public abstract class Result implements AutoCloseable {
      */
     protected EzSQL sql;
 
+    /**
+     * The statement timing, sent to the query listeners when the result is closed. It's nullable.
+     */
+    protected final QueryEvent event;
+
+    /**
+     * The lease of the statement connection, recorded when the connection was got. It's nullable.
+     */
+    private final ConnectionLease lease;
+
+    /**
+     * If the result is closed.
+     */
+    private boolean closed;
+
     /**
      * Create a result and close the statement.
      *
      * @param sql       The EzSQL connection.
-     * @param statement The statement.
+     * @param statement The statement or null if the result doesn't come from a statement (a cached result).
      */
     public Result(EzSQL sql, PreparedStatement statement) {
         this.sql = sql;
         this.statement = statement;
+        this.event = statement == null ? null : sql.takeQueryEvent(statement);
+        this.lease = statement == null ? null : sql.takeLease(statement);
+        if (event != null)
+            event.bound();
     }
 
     /**
@@ -43,12 +62,37 @@ public abstract class Result implements AutoCloseable {
     }
 
     /**
-     * Closes the statement.
+     * Checks if the result is closed.
+     *
+     * @return If the result is closed.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes the statement (or gives it back to the statement cache, see {@link EzSQL#recycle(PreparedStatement)}) and
+     * gives back the connection lease, then sends the statement timing to the query listeners. A connection pinned to a
+     * transaction isn't given back, even if the result is closed after the transaction ends. Closing a closed result
+     * does nothing.
      *
      * @throws SQLException If a database access error occurs.
      */
     @Override
     public void close() throws SQLException {
-        statement.close();
+        if (closed)
+            return;
+
+        closed = true;
+        if (statement == null)
+            return;
+
+        try {
+            sql.recycle(statement);
+        } finally {
+            sql.release(lease);
+            if (event != null)
+                sql.publishQueryEvent(event);
+        }
     }
 }
@@ -0,0 +1,86 @@
+package com.gitlab.pauloo27.core.sql;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates a query result mapping one row at a time, so only the rows fetched by the driver are kept in memory. The
+ * result is closed when the last row is read, when a row fails to map or when the iterator is closed.
+ *
+ * @param <T> The model type.
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+public class ResultIterator<T> implements Iterator<T>, AutoCloseable {
+
+    /**
+     * The query result.
+     */
+    private final QueryResult result;
+    /**
+     * The row mapper.
+     */
+    private final RowMapper<T> mapper;
+    /**
+     * The row read by {@link #hasNext()} and not returned yet. It's nullable.
+     */
+    private T next;
+
+    /**
+     * Creates the iterator.
+     *
+     * @param result The query result.
+     * @param mapper The row mapper of the result.
+     */
+    ResultIterator(QueryResult result, RowMapper<T> mapper) {
+        this.result = result;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null)
+            return true;
+
+        if (result.isClosed())
+            return false;
+
+        try {
+            if (!result.nextRow()) {
+                close();
+                return false;
+            }
+
+            next = mapper.map(result.getResultSet());
+            return true;
+        } catch (SQLException | ReflectiveOperationException | RuntimeException e) {
+            close();
+            throw new IllegalStateException("Cannot read the next row", e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        T object = next;
+        next = null;
+        return object;
+    }
+
+    /**
+     * Closes the result. Closing a closed iterator does nothing.
+     */
+    @Override
+    public void close() {
+        try {
+            result.close();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot close the result", e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.gitlab.pauloo27.core.sql;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps the rows of a ResultSet to a model. The column index of each field is resolved once from the {@link
+ * ResultSetMetaData} and reused for every row; the fields without a column in the result are skipped.
+ *
+ * @param <T> The model type.
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+public class RowMapper<T> {
+
+    /**
+     * The model mapping information.
+     */
+    private final EntityMetadata<T> entity;
+    /**
+     * The columns present in the result.
+     */
+    private final EntityMetadata.Column[] columns;
+    /**
+     * The result column index of each column in {@link #columns}.
+     */
+    private final int[] indexes;
+
+    /**
+     * Builds the mapping plan of a result.
+     *
+     * @param entity   The model mapping information.
+     * @param metaData The result metadata.
+     *
+     * @throws SQLException Problems to read the metadata.
+     */
+    public RowMapper(EntityMetadata<T> entity, ResultSetMetaData metaData) throws SQLException {
+        this.entity = entity;
+
+        // the labels are compared ignoring the case, like ResultSet#findColumn, and the first column wins
+        Map<String, Integer> indexByLabel = new HashMap<>();
+        for (int i = metaData.getColumnCount(); i >= 1; i--) {
+            indexByLabel.put(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+        }
+
+        List<EntityMetadata.Column> entityColumns = entity.getColumns();
+        EntityMetadata.Column[] columns = new EntityMetadata.Column[entityColumns.size()];
+        int[] indexes = new int[entityColumns.size()];
+        int size = 0;
+
+        for (EntityMetadata.Column column : entityColumns) {
+            Integer index = indexByLabel.get(column.getName().toLowerCase(Locale.ROOT));
+            if (index == null)
+                continue;
+
+            columns[size] = column;
+            indexes[size] = index;
+            size++;
+        }
+
+        this.columns = Arrays.copyOf(columns, size);
+        this.indexes = Arrays.copyOf(indexes, size);
+    }
+
+    /**
+     * Gets the model mapping information.
+     *
+     * @return The model mapping information.
+     */
+    public EntityMetadata<T> getEntity() {
+        return entity;
+    }
+
+    /**
+     * Gets the amount of fields mapped from the result.
+     *
+     * @return The amount of model columns present in the result.
+     */
+    public int getMappedColumnCount() {
+        return columns.length;
+    }
+
+    /**
+     * Creates an object from the current row of the result.
+     *
+     * @param result The result, already positioned in the row.
+     *
+     * @return The created object.
+     *
+     * @throws SQLException                 Problems to read the row.
+     * @throws ReflectiveOperationException Problems to create the object.
+     */
+    public T map(ResultSet result) throws SQLException, ReflectiveOperationException {
+        return map(result, entity.newInstance());
+    }
+
+    /**
+     * Fills an object with the current row of the result.
+     *
+     * @param result The result, already positioned in the row.
+     * @param object The object to fill.
+     *
+     * @return The object.
+     *
+     * @throws SQLException Problems to read the row.
+     */
+    public T map(ResultSet result, T object) throws SQLException {
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].read(result, indexes[i], object);
+        }
+        return object;
+    }
+}
@@ -1,9 +1,14 @@
 package com.gitlab.pauloo27.core.sql;
 
 import com.google.common.base.Preconditions;
+import edu.umd.cs.findbugs.annotations.CheckReturnValue;
 
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * The select statement.
@@ -18,6 +23,14 @@ public class Select extends StatementBase<Select, QueryResult> {
      * The columns' to select name.
      */
     private String columnNames;
+    /**
+     * The amount of rows fetched by the driver at once. Zero uses the driver default.
+     */
+    private int fetchSize;
+    /**
+     * The time (in nanoseconds) that the result stays in the query cache. Zero disables the cache.
+     */
+    private long cacheTimeToLive;
 
     /**
      * Builds a select statement.
@@ -44,11 +57,78 @@ public class Select extends StatementBase<Select, QueryResult> {
         return columnNames;
     }
 
+    /**
+     * Sets the amount of rows the driver should fetch at once, so large results can be read with {@link
+     * QueryResult#stream(Class)} without loading all the rows. Each driver needs something different to stream, see
+     * {@link EzSQL#applyFetchSize(PreparedStatement, int)}.
+     *
+     * @param fetchSize The amount of rows. Zero uses the driver default.
+     *
+     * @return The current object instance.
+     */
+    @CheckReturnValue
+    public Select fetchSize(int fetchSize) {
+        Preconditions.checkArgument(fetchSize >= 0, "The fetch size cannot be negative");
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
+    /**
+     * Gets the fetch size.
+     *
+     * @return The amount of rows fetched by the driver at once or zero to the driver default.
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Caches the result in the EzSQL query cache (see {@link EzSQL#withQueryCache(int)}), keyed by the table, the SQL
+     * and the parameters. While cached, executing the same select again reads the cached rows instead of querying the
+     * database. The cached results are removed when an insert, update or delete of the table or of a joined table is
+     * executed through the same EzSQL. The rows are copied, so it's meant to small results (counts, sums, averages and short
+     * lists).
+     *
+     * @param timeToLive The time that the result stays cached.
+     * @param unit       The time to live unit.
+     *
+     * @return The current object instance.
+     */
+    @CheckReturnValue
+    public Select cached(long timeToLive, TimeUnit unit) {
+        Preconditions.checkArgument(timeToLive > 0, "The time to live should be positive");
+        this.cacheTimeToLive = unit.toNanos(timeToLive);
+        return this;
+    }
+
+    /**
+     * Converts the statement to SQL once, to be executed many times without building it again. The compiled query
+     * ignores {@link #cached(long, TimeUnit)}, it always queries the database.
+     *
+     * @return The compiled query, with the current where values as the default parameters.
+     */
+    @CheckReturnValue
+    public CompiledQuery<QueryResult> compile() {
+        return new CompiledQuery<>(sql, sql.toSQL(this, table), table.getName(), getParameters(), fetchSize, QueryResult::new);
+    }
+
     @Override
     protected QueryResult getResultType() throws SQLException {
+        if (cacheTimeToLive > 0 && !sql.isInTransaction())
+            return sql.executeCached(table.getName(), getJoinedTables(), sql.toSQL(this, table), getParameters(), fetchSize, cacheTimeToLive);
+
         return new QueryResult(sql, sql.build(this, table));
     }
 
+    /**
+     * Gets the names of the joined tables.
+     *
+     * @return The table names of the joins.
+     */
+    private List<String> getJoinedTables() {
+        return joinList.stream().map(Join::getTableName).collect(Collectors.toList());
+    }
+
     /**
      * Gets the statement converted to SQL.
      *
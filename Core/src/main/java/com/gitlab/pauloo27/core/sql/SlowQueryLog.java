@@ -0,0 +1,279 @@
+package com.gitlab.pauloo27.core.sql;
+
+import com.google.common.base.Preconditions;
+
+import java.security.CodeSource;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A query listener that logs the statements slower than a threshold, and the failed ones, with the SQL, the bound
+ * parameters (truncated), the times and the caller stack frame.
+ * <p>
+ * The statements faster than the threshold only cost the timing and keeping the parameter references; the parameters
+ * are formatted and the caller is found only for the logged statements. Use {@link #withSampleRate(double)} to log
+ * only a part of the slow statements if there are too many of them.
+ * <pre>
+ * sql.withQueryListener(new SlowQueryLog(200, TimeUnit.MILLISECONDS));
+ * </pre>
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+public class SlowQueryLog implements QueryListener {
+
+    /**
+     * The code source of the EzSQL classes, used to skip their frames when looking for the caller.
+     */
+    private static final CodeSource EZSQL_SOURCE = EzSQL.class.getProtectionDomain().getCodeSource();
+
+    /**
+     * The threshold in nanoseconds.
+     */
+    private final long thresholdNanos;
+    /**
+     * The logger.
+     */
+    private Logger logger = Logger.getLogger(SlowQueryLog.class.getName());
+    /**
+     * The fraction of the slow statements that are logged, from 0 to 1.
+     */
+    private double sampleRate = 1;
+    /**
+     * The max length of each logged parameter.
+     */
+    private int maxParameterLength = 64;
+    /**
+     * The max amount of logged parameters.
+     */
+    private int maxParameters = 16;
+    /**
+     * If the failed statements are logged, even if they are fast.
+     */
+    private boolean logFailures = true;
+
+    /**
+     * Creates a slow query log.
+     *
+     * @param threshold The min total time of the logged statements.
+     * @param unit      The threshold unit.
+     */
+    public SlowQueryLog(long threshold, TimeUnit unit) {
+        Preconditions.checkArgument(threshold >= 0, "Threshold cannot be negative");
+        this.thresholdNanos = unit.toNanos(threshold);
+    }
+
+    /**
+     * Sets the logger. The default logger is named after this class.
+     *
+     * @param logger The logger.
+     *
+     * @return The current object instance.
+     */
+    public SlowQueryLog withLogger(Logger logger) {
+        Preconditions.checkNotNull(logger, "Logger cannot be null");
+        this.logger = logger;
+        return this;
+    }
+
+    /**
+     * Sets the fraction of the slow statements that are logged. The default is 1 (all of them).
+     *
+     * @param sampleRate The fraction, from 0 to 1.
+     *
+     * @return The current object instance.
+     */
+    public SlowQueryLog withSampleRate(double sampleRate) {
+        Preconditions.checkArgument(sampleRate >= 0 && sampleRate <= 1, "Sample rate must be between 0 and 1");
+        this.sampleRate = sampleRate;
+        return this;
+    }
+
+    /**
+     * Sets the max length of each logged parameter. The default is 64.
+     *
+     * @param maxParameterLength The max length, the longer parameters are truncated.
+     *
+     * @return The current object instance.
+     */
+    public SlowQueryLog withMaxParameterLength(int maxParameterLength) {
+        Preconditions.checkArgument(maxParameterLength > 0, "Max parameter length must be greater than 0");
+        this.maxParameterLength = maxParameterLength;
+        return this;
+    }
+
+    /**
+     * Sets the max amount of logged parameters. The default is 16.
+     *
+     * @param maxParameters The max amount, the other parameters are only counted.
+     *
+     * @return The current object instance.
+     */
+    public SlowQueryLog withMaxParameters(int maxParameters) {
+        Preconditions.checkArgument(maxParameters >= 0, "Max parameters cannot be negative");
+        this.maxParameters = maxParameters;
+        return this;
+    }
+
+    /**
+     * Sets if the failed statements are logged, even if they are faster than the threshold. The default is true.
+     *
+     * @param logFailures If the failed statements are logged.
+     *
+     * @return The current object instance.
+     */
+    public SlowQueryLog withFailures(boolean logFailures) {
+        this.logFailures = logFailures;
+        return this;
+    }
+
+    /**
+     * Gets the threshold.
+     *
+     * @return The threshold in nanoseconds.
+     */
+    public long getThresholdNanos() {
+        return thresholdNanos;
+    }
+
+    @Override
+    public boolean isCapturingParameters() {
+        return true;
+    }
+
+    @Override
+    public void onQuery(QueryEvent event) {
+        boolean failed = event.isFailed() && logFailures;
+        if (!failed && event.getTotalNanos() < thresholdNanos)
+            return;
+
+        if (!failed && sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate)
+            return;
+
+        Level level = failed ? Level.SEVERE : Level.WARNING;
+        if (!logger.isLoggable(level))
+            return;
+
+        logger.log(level, format(event, findCaller()), event.getFailure());
+    }
+
+    /**
+     * Formats a statement to the log.
+     *
+     * @param event  The statement timing.
+     * @param caller The caller stack frame or null if unknown.
+     *
+     * @return The log message.
+     */
+    String format(QueryEvent event, StackTraceElement caller) {
+        StringBuilder message = new StringBuilder();
+        message.append(event.isFailed() ? "Failed query" : "Slow query")
+                .append(String.format(Locale.ROOT, " (%.3f ms: prepare %.3f ms, bind %.3f ms, execute %.3f ms, mapping %.3f ms",
+                        toMillis(event.getTotalNanos()), toMillis(event.getPrepareNanos()), toMillis(event.getBindNanos()),
+                        toMillis(event.getExecuteNanos()), toMillis(event.getMappingNanos())));
+
+        if (event.getRows() >= 0)
+            message.append(", ").append(event.getRows()).append(" rows");
+        message.append(')');
+
+        if (event.getTable() != null)
+            message.append(" on ").append(event.getTable());
+        message.append(": ").append(event.getSQL());
+
+        List<Object> parameters = event.getParameters();
+        if (!parameters.isEmpty()) {
+            message.append(" [");
+            int logged = Math.min(parameters.size(), maxParameters);
+            for (int i = 0; i < logged; i++) {
+                if (i > 0)
+                    message.append(", ");
+                message.append(formatParameter(parameters.get(i)));
+            }
+            if (logged < parameters.size())
+                message.append(logged > 0 ? ", " : "").append("... ").append(parameters.size() - logged).append(" more");
+            message.append(']');
+        }
+
+        if (caller != null)
+            message.append(" at ").append(caller);
+
+        return message.toString();
+    }
+
+    /**
+     * Formats a parameter, truncating it.
+     *
+     * @param parameter The parameter.
+     *
+     * @return The formatted parameter.
+     */
+    private String formatParameter(Object parameter) {
+        if (parameter == null)
+            return "NULL";
+
+        if (parameter instanceof byte[])
+            return "byte[" + ((byte[]) parameter).length + "]";
+
+        String value = String.valueOf(parameter);
+        if (value.length() > maxParameterLength)
+            value = value.substring(0, maxParameterLength) + "...";
+
+        return parameter instanceof CharSequence ? "'" + value + "'" : value;
+    }
+
+    /**
+     * Converts nanoseconds to milliseconds.
+     *
+     * @param nanos The nanoseconds.
+     *
+     * @return The milliseconds.
+     */
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Finds the first stack frame of the current thread outside EzSQL and the JDK.
+     *
+     * @return The caller stack frame or null if not found.
+     */
+    static StackTraceElement findCaller() {
+        for (StackTraceElement frame : new Throwable().getStackTrace()) {
+            String className = frame.getClassName();
+            if (className.startsWith("java.") || className.startsWith("javax.") || className.startsWith("jdk.")
+                    || className.startsWith("sun."))
+                continue;
+
+            if (!isEzSQLClass(className))
+                return frame;
+        }
+        return null;
+    }
+
+    /**
+     * Checks if a class is from EzSQL: from the same jar (or classes directory) of {@link EzSQL} or an implementation of
+     * the EzSQL classes (the database modules).
+     *
+     * @param className The class name.
+     *
+     * @return If the class is from EzSQL.
+     */
+    private static boolean isEzSQLClass(String className) {
+        try {
+            Class<?> clazz = Class.forName(className, false, SlowQueryLog.class.getClassLoader());
+            if (EzSQL.class.isAssignableFrom(clazz) || Table.class.isAssignableFrom(clazz)
+                    || Database.class.isAssignableFrom(clazz) || StatementBase.class.isAssignableFrom(clazz))
+                return true;
+
+            CodeSource source = clazz.getProtectionDomain().getCodeSource();
+            return EZSQL_SOURCE == null ? source == null : EZSQL_SOURCE.equals(source);
+        } catch (ClassNotFoundException | LinkageError | SecurityException e) {
+            return false;
+        }
+    }
+}
@@ -6,8 +6,12 @@ import edu.umd.cs.findbugs.annotations.CheckReturnValue;
 import java.sql.SQLException;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 /**
@@ -100,7 +104,7 @@ public abstract class StatementBase<Statement extends StatementBase, ResultType
     public ResultType execute(ExceptionHandler handler) {
         Preconditions.checkState(sql.isConnected(), new SQLException("Not connected."));
         try {
-            return this.getResultType();
+            return this.executeRecorded();
         } catch (SQLException e) {
             if (handler == null)
                 e.printStackTrace();
@@ -128,7 +132,53 @@ public abstract class StatementBase<Statement extends StatementBase, ResultType
      */
     public ResultType executeThrowing() throws SQLException {
         Preconditions.checkState(sql.isConnected(), new SQLException("Not connected."));
-        return this.getResultType();
+        return this.executeRecorded();
+    }
+
+    /**
+     * Builds the statement result, emitting a {@code ezsql.Execute} flight recorder event if it's enabled.
+     *
+     * @return The statement result.
+     *
+     * @throws SQLException Problems to run statement.
+     */
+    ResultType executeRecorded() throws SQLException {
+        Object event = FlightRecorderEvents.beginExecute();
+        ResultType result = null;
+        try {
+            result = this.getResultType();
+            return result;
+        } finally {
+            afterExecute();
+            if (event != null)
+                FlightRecorderEvents.commitExecute(event, table == null ? null : table.getName(), getClass().getSimpleName(),
+                        result instanceof UpdateResult ? ((UpdateResult) result).getUpdatedRows() : -1);
+        }
+    }
+
+    /**
+     * Called after the statement is executed, even if it fails. Does nothing by default.
+     */
+    void afterExecute() {
+    }
+
+    /**
+     * Executes the statement in the EzSQL executor (see {@link EzSQL#withExecutor(Executor)}). The statements only run
+     * at the same time if the EzSQL has a connection pool (see {@link EzSQL#withPool(int, int, long)}), otherwise they
+     * share the same connection.
+     *
+     * @return The future statement result. It completes exceptionally with the {@link SQLException} if the statement
+     * fails.
+     */
+    @CheckReturnValue
+    public CompletableFuture<ResultType> executeAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return this.executeThrowing();
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, sql.getExecutor());
     }
 
     /**
@@ -274,12 +324,35 @@ public abstract class StatementBase<Statement extends StatementBase, ResultType
                                 WhereCondition.Where where = ((WhereCondition.WhereStatement) entry).getWhere();
                                 WhereCondition.Where.WhereSeparator separator = ((WhereCondition.WhereStatement) entry).getSeparator();
 
-                                return String.format("%s %s %s", (separator == null ? "" : separator.name()), where.getColumnName(), where.getType().toString());
+                                return String.format("%s %s %s", (separator == null ? "" : separator.name()), where.getColumnName(), where.conditionToString());
                             }
                         }
                 ).collect(Collectors.joining(" "))).trim().replaceAll("\\s+", " ");
     }
 
+    /**
+     * Gets the statement parameters, in the order of the {@code ?} in the SQL.
+     *
+     * @return The where condition values (the IN conditions have one parameter per value).
+     */
+    public List<Object> getParameters() {
+        List<Object> parameters = new ArrayList<>();
+        whereConditions.getWhereStatements().forEach(entry -> {
+            if (!(entry instanceof WhereCondition.WhereStatement))
+                return;
+
+            WhereCondition.Where where = ((WhereCondition.WhereStatement) entry).getWhere();
+            if (where.getType() == WhereCondition.Where.WhereType.NULL || where.getType() == WhereCondition.Where.WhereType.NOT_NULL)
+                return;
+
+            if (where.getType() == WhereCondition.Where.WhereType.IN)
+                parameters.addAll((Collection<?>) where.getValue());
+            else
+                parameters.add(where.getValue());
+        });
+        return parameters;
+    }
+
     /**
      * Gets the order by converted to SQL. Returns an empty String if the order by is null.
      *
@@ -0,0 +1,182 @@
+package com.gitlab.pauloo27.core.sql;
+
+import com.google.common.base.Preconditions;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A LRU cache of prepared statements of a connection, keyed by the SQL text. A cached statement is removed from the
+ * cache while in use, so the same statement is never used by two results at the same time.
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+public class StatementCache {
+
+    /**
+     * The connection of the statements.
+     */
+    private final Connection connection;
+    /**
+     * The maximum number of cached statements.
+     */
+    private final int maxSize;
+    /**
+     * The idle statements by the SQL text, the least recently used first.
+     */
+    private final LinkedHashMap<String, PreparedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * The SQL text of the statements in use.
+     */
+    private final Map<PreparedStatement, String> inUse = new IdentityHashMap<>();
+
+    /**
+     * The number of statements taken from the cache.
+     */
+    private long hits;
+    /**
+     * The number of statements prepared because they're not in the cache.
+     */
+    private long misses;
+    /**
+     * The number of statements closed to respect the cache size.
+     */
+    private long evictions;
+
+    /**
+     * Builds a statement cache.
+     *
+     * @param connection The connection of the statements.
+     * @param maxSize    The maximum number of cached statements.
+     */
+    public StatementCache(Connection connection, int maxSize) {
+        Preconditions.checkArgument(maxSize > 0, "The cache size should be positive");
+        this.connection = connection;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets a cached statement or prepares a new one. Use {@link #recycle(PreparedStatement)} to give it back.
+     *
+     * @param sql The SQL text.
+     *
+     * @return The prepared statement.
+     *
+     * @throws SQLException Problems to prepare the statement.
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        synchronized (this) {
+            PreparedStatement statement = statements.remove(sql);
+            if (statement != null) {
+                hits++;
+                inUse.put(statement, sql);
+                return statement;
+            }
+            misses++;
+        }
+
+        PreparedStatement statement = connection.prepareStatement(sql);
+        synchronized (this) {
+            inUse.put(statement, sql);
+        }
+        return statement;
+    }
+
+    /**
+     * Gives a statement back to the cache, clearing its parameters. Statements not prepared by this cache are closed.
+     * If the cache is full, the least recently used statement is closed.
+     *
+     * @param statement The statement.
+     *
+     * @throws SQLException Problems to clear or close the statement.
+     */
+    public void recycle(PreparedStatement statement) throws SQLException {
+        String sql;
+        synchronized (this) {
+            sql = inUse.remove(statement);
+        }
+
+        if (sql == null || statement.isClosed()) {
+            statement.close();
+            return;
+        }
+
+        statement.clearParameters();
+        statement.clearBatch();
+        if (statement.getFetchSize() != 0)
+            statement.setFetchSize(0);
+
+        PreparedStatement replaced;
+        PreparedStatement evicted = null;
+        synchronized (this) {
+            replaced = statements.put(sql, statement);
+            if (replaced == null && statements.size() > maxSize) {
+                Iterator<PreparedStatement> iterator = statements.values().iterator();
+                evicted = iterator.next();
+                iterator.remove();
+                evictions++;
+            }
+        }
+
+        // two results used the same SQL at the same time, keep only one of the statements
+        if (replaced != null)
+            replaced.close();
+        if (evicted != null)
+            evicted.close();
+    }
+
+    /**
+     * Checks if a statement is from this cache and in use.
+     *
+     * @param statement The statement.
+     *
+     * @return If the statement is in use.
+     */
+    public synchronized boolean isInUse(PreparedStatement statement) {
+        return inUse.containsKey(statement);
+    }
+
+    /**
+     * Closes the cached statements. The statements in use are closed when recycled.
+     */
+    public void clear() {
+        PreparedStatement[] idle;
+        synchronized (this) {
+            idle = statements.values().toArray(new PreparedStatement[0]);
+            statements.clear();
+            inUse.clear();
+        }
+
+        for (PreparedStatement statement : idle) {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Gets the number of cached (idle) statements.
+     *
+     * @return The number of cached statements.
+     */
+    public synchronized int size() {
+        return statements.size();
+    }
+
+    /**
+     * Gets a snapshot of the cache counters.
+     *
+     * @return The cache stats.
+     */
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits, misses, evictions);
+    }
+}
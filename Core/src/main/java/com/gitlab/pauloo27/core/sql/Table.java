@@ -1,13 +1,18 @@
 package com.gitlab.pauloo27.core.sql;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 import edu.umd.cs.findbugs.annotations.CheckReturnValue;
 
-import java.lang.reflect.Field;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * The SQL Table.
@@ -62,7 +67,11 @@ public class Table {
      */
     public void truncate() throws SQLException {
         if (!sql.isConnected()) throw new SQLException("Not connected.");
-        sql.executeAndClose(sql.prepareStatement(String.format("TRUNCATE TABLE %s;", this.getName())));
+        try {
+            sql.executeAndClose(sql.prepareStatement(String.format("TRUNCATE TABLE %s;", this.getName())));
+        } finally {
+            sql.tableChanged(this.getName(), null);
+        }
     }
 
     /**
@@ -75,7 +84,11 @@ public class Table {
     @CheckReturnValue
     public int truncateReturningUpdatedLines() throws SQLException {
         if (!sql.isConnected()) throw new SQLException("Not connected.");
-        return sql.prepareStatement(String.format("TRUNCATE TABLE %s;", this.getName())).executeUpdate();
+        try {
+            return sql.executeUpdate(String.format("TRUNCATE TABLE %s;", this.getName()), Collections.emptyList());
+        } finally {
+            sql.tableChanged(this.getName(), null);
+        }
     }
 
     /**
@@ -95,7 +108,11 @@ public class Table {
      */
     public void drop() throws SQLException {
         if (!this.sql.isConnected()) throw new SQLException("Not connected.");
-        sql.executeAndClose(sql.prepareStatement(String.format("DROP TABLE %s;", this.getName())));
+        try {
+            sql.executeAndClose(sql.prepareStatement(String.format("DROP TABLE %s;", this.getName())));
+        } finally {
+            sql.tableChanged(this.getName(), null);
+        }
     }
 
     /**
@@ -108,7 +125,11 @@ public class Table {
     @CheckReturnValue
     public int dropReturningUpdatedLines() throws SQLException {
         if (!this.sql.isConnected()) throw new SQLException("Not connected.");
-        return sql.prepareStatement(String.format("DROP TABLE %s;", this.getName())).executeUpdate();
+        try {
+            return sql.executeUpdate(String.format("DROP TABLE %s;", this.getName()), Collections.emptyList());
+        } finally {
+            sql.tableChanged(this.getName(), null);
+        }
     }
 
     /**
@@ -136,10 +157,11 @@ public class Table {
         Class<T> clazz = (Class<T>) object.getClass();
         StringBuilder sb = new StringBuilder();
         List<Object> values = new ArrayList<>();
+        List<ParameterBinder<Object>> binders = new ArrayList<>();
 
-        prepareObjectToInsert(object, clazz, sb, values);
+        prepareObjectToInsert(object, clazz, sb, values, binders);
 
-        return new Insert(sql, this, sb.toString(), values.toArray());
+        return new Insert(sql, this, sb.toString(), values.toArray()).withBinders(binders);
     }
 
     /**
@@ -149,40 +171,32 @@ public class Table {
      * @param object  The object to the inserted.
      * @param columns The columns name.
      * @param values  The values list.
+     * @param binders The binders of the values, resolved by the columns.
      * @param <T>     The object type to insert.
      */
-    private <T> void prepareObjectToInsert(T object, Class<T> clazz, StringBuilder columns, List<Object> values) {
+    private <T> void prepareObjectToInsert(T object, Class<T> clazz, StringBuilder columns, List<Object> values, List<ParameterBinder<Object>> binders) {
         // only append the columns name if the StringBuilder is empty
         // if it's not empty, the columns are already in the StringBuilder
         boolean appendColumn = columns.length() == 0;
 
-        Arrays.stream(clazz.getDeclaredFields()).forEach(field -> {
-            field.setAccessible(true);
-
-            if (ReflectionUtils.isIgnored(field))
+        sql.getEntityMetadata(clazz).getColumns().forEach(column -> {
+            if (column.isId())
                 return;
 
-            if (ReflectionUtils.isId(field))
-                return;
-
-            try {
-                String name = ReflectionUtils.getName(sql.getNameConverter(), field);
-                Object value = field.get(object);
-
-                if (value == null)
-                    return;
+            Object value = column.get(object);
 
-                if (columns.length() != 0 && appendColumn)
-                    columns.append(", ");
+            if (value == null)
+                return;
 
+            if (columns.length() != 0 && appendColumn)
+                columns.append(", ");
 
-                if (appendColumn)
-                    columns.append(name);
+            if (appendColumn)
+                columns.append(column.getName());
 
-                values.add(sql.getSerializerByClass(clazz).getSerializer().apply(value));
-            } catch (IllegalAccessException e) {
-                e.printStackTrace();
-            }
+            Object serialized = column.serialize(value);
+            values.add(serialized);
+            binders.add(column.getBinder(serialized));
         });
 
     }
@@ -200,12 +214,87 @@ public class Table {
     public final <T> Insert insertAll(T... objects) {
         StringBuilder sb = new StringBuilder();
         List<Object> values = new ArrayList<>();
+        List<ParameterBinder<Object>> binders = new ArrayList<>();
         Arrays.stream(objects).forEach(object -> {
             Class<T> clazz = (Class<T>) object.getClass();
-            prepareObjectToInsert(object, clazz, sb, values);
+            prepareObjectToInsert(object, clazz, sb, values, binders);
         });
 
-        return new Insert(sql, this, sb.toString(), values.toArray());
+        return new Insert(sql, this, sb.toString(), values.toArray()).withBinders(binders);
+    }
+
+    /**
+     * Inserts multiples objects using JDBC batches. Unlike {@link #insertAll(Object[])}, the SQL has one row of values,
+     * so it's the same to any amount of objects and it doesn't hit the driver parameters limit. The consecutive objects
+     * with the same non-null fields are added to the same batch, up to the chunk size. Each batch is executed
+     * separately (it's not a transaction).
+     *
+     * @param objects   The objects to insert.
+     * @param chunkSize The max amount of objects per batch.
+     * @param <T>       The object type to insert.
+     *
+     * @return The inserted rows of each batch, in the execution order.
+     *
+     * @throws SQLException Problems to execute a batch. The batches executed before are not reverted.
+     */
+    public <T> int[] insertBatch(Collection<T> objects, int chunkSize) throws SQLException {
+        Preconditions.checkArgument(chunkSize > 0, "The chunk size should be positive");
+
+        List<Integer> counts = new ArrayList<>();
+        String batchColumns = null;
+        List<List<Object>> batch = new ArrayList<>();
+        List<List<ParameterBinder<Object>>> batchBinders = new ArrayList<>();
+
+        try {
+            for (T object : objects) {
+                StringBuilder columns = new StringBuilder();
+                List<Object> values = new ArrayList<>();
+                List<ParameterBinder<Object>> binders = new ArrayList<>();
+                prepareObjectToInsert(object, (Class<T>) object.getClass(), columns, values, binders);
+
+                Preconditions.checkArgument(columns.length() != 0, "The object has no values to insert");
+
+                if (batchColumns != null && (!batchColumns.contentEquals(columns) || batch.size() == chunkSize)) {
+                    counts.add(executeInsertBatch(batchColumns, batch, batchBinders));
+                    batch = new ArrayList<>();
+                    batchBinders = new ArrayList<>();
+                }
+
+                batchColumns = columns.toString();
+                batch.add(values);
+                batchBinders.add(binders);
+            }
+
+            if (!batch.isEmpty())
+                counts.add(executeInsertBatch(batchColumns, batch, batchBinders));
+        } finally {
+            // the chunks executed before a failure aren't reverted
+            sql.tableChanged(this.getName(), Collections.emptyList());
+        }
+        return counts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Executes an insert batch.
+     *
+     * @param columns The columns name separated by ", ".
+     * @param rows    The values of each row.
+     * @param binders The binders of the values of each row.
+     *
+     * @return The inserted rows. The rows the driver doesn't report ({@link Statement#SUCCESS_NO_INFO}) are counted as
+     * one.
+     *
+     * @throws SQLException Problems to execute the batch.
+     */
+    private int executeInsertBatch(String columns, List<List<Object>> rows, List<List<ParameterBinder<Object>>> binders) throws SQLException {
+        String statement = String.format("INSERT INTO %s (%s) VALUES (%s);", this.getName(), columns,
+                String.join(", ", Collections.nCopies(rows.get(0).size(), "?")));
+
+        int inserted = 0;
+        for (int count : sql.executeBatch(statement, rows, binders)) {
+            inserted += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+        }
+        return inserted;
     }
 
     /**
@@ -298,51 +387,45 @@ public class Table {
      */
     @CheckReturnValue
     public <T> Update update(T object) {
-        Class<T> clazz = (Class<T>) object.getClass();
-
-        Field idField = getIdField(clazz);
-
-        Preconditions.checkNotNull(idField);
-
-        idField.setAccessible(true);
-
-        try {
-            String idColumn = idField.getName();
-            int id = idField.getInt(object);
-            Preconditions.checkState(id != 0, "Invalid id (0).");
-
-            Preconditions.checkNotNull(idField);
+        EntityMetadata<T> entity = sql.getEntityMetadata((Class<T>) object.getClass());
+        EntityMetadata.Column idColumn = getIdColumn(entity);
 
-            Update update = new Update(sql, this).where().equals(idColumn, id);
+        Object id = idColumn.get(object);
+        Preconditions.checkState(id != null && !(id instanceof Number && ((Number) id).longValue() == 0), "Invalid id (0).");
 
-            Arrays.stream(clazz.getDeclaredFields())
-                    .filter(field -> !field.getName().equals(idColumn)).forEach(field -> {
-                field.setAccessible(true);
+        Update update = new Update(sql, this).where().equals(idColumn.getName(), id);
+        update.changedIds = Collections.singletonList(id);
 
-                if (ReflectionUtils.isIgnored(field))
-                    return;
+        entity.getColumns().stream()
+                .filter(column -> column != idColumn)
+                .forEach(column -> {
+                    Object value = column.getSerialized(object);
+                    update.set(column.getName(), value, column.getBinder(value));
+                });
 
-                String name = ReflectionUtils.getName(sql.getNameConverter(), field);
-
-                Object value = null;
-                try {
-                    value = field.get(object);
-                } catch (IllegalAccessException e) {
-                    e.printStackTrace();
-                }
-
-                update.set(name, sql.getSerializerByClass(field.getType()).getSerializer().apply(value));
-            });
+        return update;
+    }
 
-            return update;
-        } catch (IllegalAccessException e) {
-            e.printStackTrace();
+    /**
+     * Updates multiples objects using one statement (per chunk, if there are too many objects to the statement
+     * parameters limit). Every column but the id is updated. The statement depends on the database, see {@link
+     * EzSQL#updateAll(Table, Collection)}.
+     *
+     * @param objects The objects to update. They should be of the same class and have an id.
+     * @param <T>     The object type to update.
+     *
+     * @return The updated rows.
+     *
+     * @throws SQLException Problems to execute the statement.
+     */
+    public <T> int updateAll(Collection<T> objects) throws SQLException {
+        try {
+            return sql.updateAll(this, objects);
+        } finally {
+            invalidateCached(objects);
         }
-        return null;
     }
 
-    // TODO Update all using 1 query
-
     /**
      * Deletes the table's values.
      *
@@ -363,64 +446,126 @@ public class Table {
      */
     @CheckReturnValue
     public <T> Delete delete(T object) {
+        EntityMetadata.Column idColumn = getIdColumn(sql.getEntityMetadata(object.getClass()));
+        Object id = idColumn.get(object);
 
-        Field idField = getIdField(object.getClass());
-
-        try {
-            String idColumn = idField.getName();
-            int id = idField.getInt(object);
+        Delete delete = new Delete(sql, this).where().equals(idColumn.getName(), id);
+        delete.changedIds = Collections.singletonList(id);
+        return delete;
+    }
 
-            Preconditions.checkNotNull(idField);
+    /**
+     * Finds an object by its id. If the entity cache of the table is enabled (see {@link EzSQL#withEntityCache(String,
+     * int, long, TimeUnit)}), a copy of the cached object is returned instead of selecting it again.
+     *
+     * @param clazz The object type.
+     * @param id    The object id.
+     * @param <T>   The object type.
+     *
+     * @return The object or null if there's no object with the id.
+     *
+     * @throws SQLException Problems to execute the statement.
+     */
+    @CheckReturnValue
+    public <T> T findById(Class<T> clazz, Object id) throws SQLException {
+        Preconditions.checkNotNull(id, "The id cannot be null");
+        EntityMetadata<T> entity = sql.getEntityMetadata(clazz);
+        EntityMetadata.Column idColumn = getIdColumn(entity);
+
+        EntityCache cache = sql.getEntityCache(this.getName());
+        if (cache == null || sql.isInTransaction())
+            return this.select().where().equals(idColumn.getName(), id).executeThrowing().to(clazz);
+
+        T cached = cache.get(entity, id);
+        if (cached != null)
+            return cached;
+
+        long generation = cache.getGeneration();
+        T object = this.select().where().equals(idColumn.getName(), id).executeThrowing().to(clazz);
+        if (object != null)
+            cache.put(entity, id, object, generation);
+        return object;
+    }
 
-            return new Delete(sql, this).where().equals(idColumn, id);
-        } catch (IllegalAccessException e) {
-            e.printStackTrace();
+    /**
+     * Removes the cached queries of the table and the changed objects from the table entity cache.
+     *
+     * @param objects The changed objects. They should be of the same class and have an id.
+     * @param <T>     The object type.
+     */
+    protected <T> void invalidateCached(Collection<T> objects) {
+        List<Object> ids = Collections.emptyList();
+        if (!objects.isEmpty() && sql.getEntityCache(this.getName()) != null) {
+            EntityMetadata.Column idColumn = sql.getEntityMetadata(objects).getIdColumn();
+            ids = objects.stream().map(idColumn::get).collect(Collectors.toList());
         }
-        return null;
+        sql.tableChanged(this.getName(), ids);
     }
 
     /**
-     * Gets the Field with the {@link Id} annotation.
+     * Gets the id column of a model.
      *
-     * @param clazz The class to find the field.
-     * @param <T>   The class type.
+     * @param entity The model mapping information.
      *
-     * @return The Field with the {@link Id} annotation.
+     * @return The column with the {@link Id} annotation or called {@code id}.
      */
-    private <T> Field getIdField(Class<T> clazz) {
-        return Arrays.stream(clazz.getDeclaredFields())
-                .filter(ReflectionUtils::isId)
-                .findFirst().orElse(null);
+    private EntityMetadata.Column getIdColumn(EntityMetadata<?> entity) {
+        return Preconditions.checkNotNull(entity.getIdColumn(), entity.getType().getName() + " has no id");
     }
 
     /**
-     * Deletes multiples objects in the same query using objects.
+     * Deletes multiples objects in the same query using objects, with a {@code WHERE id IN (...)} condition.
      *
      * @param objects The objects to delete.
      * @param <T>     The object to delete type.
      *
      * @return The delete statement.
+     *
+     * @see #deleteAll(Collection) to split the objects by the database parameters limit.
      */
     @CheckReturnValue
     public <T> Delete deleteAll(T... objects) {
-        Delete deleteStatement = new Delete(sql, this);
-        Arrays.stream(objects).forEach(object -> {
-            try {
-                Field idField = getIdField(object.getClass());
-                String idColumn = idField.getName();
-                int id = idField.getInt(object);
-
-                Preconditions.checkNotNull(idField);
-
-                if (deleteStatement.getWhereConditions().getWhereStatements().isEmpty())
-                    deleteStatement.where().equals(idColumn, id);
-                else
-                    deleteStatement.or().equals(idColumn, id);
-            } catch (IllegalAccessException e) {
-                e.printStackTrace();
+        Preconditions.checkArgument(objects.length != 0, "There's no object to delete");
+
+        EntityMetadata<T> entity = sql.getEntityMetadata(Arrays.asList(objects));
+        EntityMetadata.Column idColumn = entity.getIdColumn();
+
+        List<Object> ids = Arrays.stream(objects).map(idColumn::get).collect(Collectors.toList());
+
+        Delete delete = new Delete(sql, this).where().in(idColumn.getName(), ids);
+        delete.changedIds = ids;
+        return delete;
+    }
+
+    /**
+     * Deletes multiples objects using {@code WHERE id IN (...)} statements, split to respect the database parameters
+     * limit ({@link EzSQL#getMaxParameters()}).
+     *
+     * @param objects The objects to delete. They should be of the same class and have an id.
+     * @param <T>     The object to delete type.
+     *
+     * @return The deleted rows.
+     *
+     * @throws SQLException Problems to execute the statement.
+     */
+    public <T> int deleteAll(Collection<T> objects) throws SQLException {
+        if (objects.isEmpty())
+            return 0;
+
+        EntityMetadata<T> entity = sql.getEntityMetadata(objects);
+        EntityMetadata.Column idColumn = entity.getIdColumn();
+
+        int deleted = 0;
+        for (List<T> chunk : Lists.partition(new ArrayList<>(objects), sql.getMaxParameters())) {
+            List<Object> ids = chunk.stream().map(idColumn::get).collect(Collectors.toList());
+
+            Delete delete = new Delete(sql, this).where().in(idColumn.getName(), ids);
+            delete.changedIds = ids;
+            try (UpdateResult result = delete.executeThrowing()) {
+                deleted += result.getUpdatedRows();
             }
-        });
-        return deleteStatement;
+        }
+        return deleted;
     }
 
 }
@@ -0,0 +1,295 @@
+package com.gitlab.pauloo27.core.sql;
+
+import com.google.common.base.Preconditions;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A database transaction, started by {@link EzSQL#transaction(Callback)}. While the callback runs, every statement
+ * executed by the EzSQL in the same thread uses the transaction connection (with the auto commit disabled), so they're
+ * committed together when the callback returns, or rolled back if it throws an exception.
+ * <p>
+ * The update statements can be queued with {@link #queue(UpdateStatementBase)} instead of executed. The queued
+ * statements are executed when the transaction commits, when a savepoint is created or when {@link #flush()} is
+ * called, and the consecutive statements with the same SQL are sent in one JDBC batch.
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+public class Transaction {
+
+    /**
+     * The EzSQL connection.
+     */
+    private final EzSQL sql;
+    /**
+     * The connection pinned to the transaction.
+     */
+    private final Connection connection;
+    /**
+     * The queued statements, in the queue order.
+     */
+    private final List<QueuedStatement> queue = new ArrayList<>();
+    /**
+     * The tables changed by the transaction, to remove their cached data after the commit or the rollback.
+     */
+    private final List<String> changedTables = new ArrayList<>();
+
+    /**
+     * Creates a transaction.
+     *
+     * @param sql        The EzSQL connection.
+     * @param connection The connection, with the auto commit disabled.
+     */
+    Transaction(EzSQL sql, Connection connection) {
+        this.sql = sql;
+        this.connection = connection;
+    }
+
+    /**
+     * Gets the connection of the transaction.
+     *
+     * @return The connection.
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Queues an insert, update or delete statement, to be executed in a batch with the other queued statements with the
+     * same SQL. The statement is converted to SQL now, so changing it after queuing has no effect.
+     *
+     * @param statement The statement.
+     *
+     * @return The current object instance.
+     */
+    public Transaction queue(UpdateStatementBase<?> statement) {
+        Preconditions.checkArgument(statement.sql == sql, "The statement is from other EzSQL");
+        Preconditions.checkArgument(statement.table != null, "The statement has no table");
+
+        queue.add(new QueuedStatement(statement, statement.toSQL(), statement.getParameters()));
+        return this;
+    }
+
+    /**
+     * Gets the amount of queued statements.
+     *
+     * @return The amount of statements not executed yet.
+     */
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Executes the queued statements. The consecutive statements with the same SQL are executed in one batch.
+     *
+     * @return The updated rows of each queued statement, in the queue order (some drivers return {@link
+     * java.sql.Statement#SUCCESS_NO_INFO} for the batched statements).
+     *
+     * @throws SQLException Problems to execute a statement. The statements not executed yet are discarded.
+     */
+    public int[] flush() throws SQLException {
+        int[] counts = new int[queue.size()];
+        try {
+            int start = 0;
+            while (start < queue.size()) {
+                String statement = queue.get(start).statement;
+                int end = start + 1;
+                while (end < queue.size() && queue.get(end).statement.equals(statement)) {
+                    end++;
+                }
+
+                List<QueuedStatement> batch = queue.subList(start, end);
+                int[] batchCounts;
+                if (batch.size() == 1)
+                    batchCounts = new int[]{sql.executeUpdate(statement, batch.get(0).parameters)};
+                else
+                    batchCounts = sql.executeBatch(statement, batch.stream()
+                            .map(queued -> queued.parameters)
+                            .collect(Collectors.toList()));
+
+                System.arraycopy(batchCounts, 0, counts, start, Math.min(batchCounts.length, end - start));
+                batch.forEach(queued -> queued.source.afterExecute());
+                start = end;
+            }
+        } finally {
+            queue.clear();
+        }
+        return counts;
+    }
+
+    /**
+     * Executes the queued statements and creates an unnamed savepoint.
+     *
+     * @return The savepoint.
+     *
+     * @throws SQLException Problems to execute the queued statements or to create the savepoint.
+     */
+    public Savepoint savepoint() throws SQLException {
+        flush();
+        return connection.setSavepoint();
+    }
+
+    /**
+     * Executes the queued statements and creates a named savepoint.
+     *
+     * @param name The savepoint name.
+     *
+     * @return The savepoint.
+     *
+     * @throws SQLException Problems to execute the queued statements or to create the savepoint.
+     */
+    public Savepoint savepoint(String name) throws SQLException {
+        flush();
+        return connection.setSavepoint(name);
+    }
+
+    /**
+     * Undoes the changes made after a savepoint. The statements queued after the savepoint are discarded.
+     *
+     * @param savepoint The savepoint.
+     *
+     * @throws SQLException Problems to roll back.
+     */
+    public void rollback(Savepoint savepoint) throws SQLException {
+        queue.clear();
+        connection.rollback(savepoint);
+    }
+
+    /**
+     * Removes a savepoint, keeping the changes made after it.
+     *
+     * @param savepoint The savepoint.
+     *
+     * @throws SQLException Problems to release the savepoint.
+     */
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        connection.releaseSavepoint(savepoint);
+    }
+
+    /**
+     * Runs a callback inside this transaction, in a savepoint. If the callback throws an exception, only its changes
+     * are rolled back.
+     *
+     * @param callback The callback.
+     * @param <R>      The callback result type.
+     *
+     * @return The callback result.
+     *
+     * @throws SQLException Problems to run the callback or to manage the savepoint.
+     */
+    <R> R runNested(Callback<R> callback) throws SQLException {
+        Savepoint savepoint = savepoint();
+        try {
+            R result = callback.run(this);
+            flush();
+            releaseSavepoint(savepoint);
+            return result;
+        } catch (SQLException | RuntimeException | Error e) {
+            try {
+                rollback(savepoint);
+            } catch (SQLException rollbackException) {
+                e.addSuppressed(rollbackException);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Executes the queued statements and commits the transaction.
+     *
+     * @throws SQLException Problems to execute the queued statements or to commit.
+     */
+    void commit() throws SQLException {
+        flush();
+        connection.commit();
+    }
+
+    /**
+     * Discards the queued statements and rolls back the transaction.
+     *
+     * @throws SQLException Problems to roll back.
+     */
+    void rollback() throws SQLException {
+        queue.clear();
+        connection.rollback();
+    }
+
+    /**
+     * Records a table changed by the transaction.
+     *
+     * @param table The table name.
+     */
+    void tableChanged(String table) {
+        if (!changedTables.contains(table))
+            changedTables.add(table);
+    }
+
+    /**
+     * Removes the cached data of the tables changed by the transaction. Called after the commit or the rollback, so
+     * the data cached by other threads while the transaction was running isn't kept.
+     */
+    void invalidateChangedTables() {
+        changedTables.forEach(table -> {
+            sql.invalidateQueries(table);
+            sql.invalidateEntities(table, null);
+        });
+    }
+
+    /**
+     * A statement queued to be executed in a batch.
+     */
+    private static class QueuedStatement {
+
+        /**
+         * The statement.
+         */
+        private final UpdateStatementBase<?> source;
+        /**
+         * The SQL.
+         */
+        private final String statement;
+        /**
+         * The parameters.
+         */
+        private final List<Object> parameters;
+
+        /**
+         * Creates a queued statement.
+         *
+         * @param source     The statement.
+         * @param statement  The SQL.
+         * @param parameters The parameters.
+         */
+        private QueuedStatement(UpdateStatementBase<?> source, String statement, List<Object> parameters) {
+            this.source = source;
+            this.statement = statement;
+            this.parameters = parameters;
+        }
+    }
+
+    /**
+     * The code that runs inside a transaction.
+     *
+     * @param <R> The result type.
+     */
+    @FunctionalInterface
+    public interface Callback<R> {
+        /**
+         * Runs the statements of the transaction.
+         *
+         * @param transaction The transaction.
+         *
+         * @return The result, returned by {@link EzSQL#transaction(Callback)}.
+         *
+         * @throws SQLException Problems to run a statement. The transaction is rolled back.
+         */
+        R run(Transaction transaction) throws SQLException;
+    }
+}
@@ -1,6 +1,7 @@
 package com.gitlab.pauloo27.core.sql;
 
 import com.google.common.base.Preconditions;
+import edu.umd.cs.findbugs.annotations.CheckReturnValue;
 
 import java.sql.SQLException;
 import java.util.AbstractMap;
@@ -42,8 +43,21 @@ public class Update extends UpdateStatementBase<Update> {
      * @return The current object instance.
      */
     public Update set(String columnName, Object value) {
+        return set(columnName, value, null);
+    }
+
+    /**
+     * Sets the values to sets, with the binder already resolved to the value.
+     *
+     * @param columnName The column' name.
+     * @param value      The new value.
+     * @param binder     The binder of the value or null to use the binder registered to the value class.
+     *
+     * @return The current object instance.
+     */
+    Update set(String columnName, Object value, ParameterBinder<Object> binder) {
         Preconditions.checkArgument(EzSQL.checkEntryName(columnName), columnName + " is not a valid name");
-        sets.add(new AbstractMap.SimpleEntry<>(columnName, value));
+        sets.add(binder == null ? new AbstractMap.SimpleEntry<>(columnName, value) : new ColumnSet(columnName, value, binder));
         return this;
     }
 
@@ -59,13 +73,18 @@ public class Update extends UpdateStatementBase<Update> {
     public UpdateResult execute() {
         Preconditions.checkState(sql.isConnected(), new SQLException("Not connected."));
         try {
-            return new UpdateResult(sql, sql.build(this, table));
+            return this.executeRecorded();
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return null;
     }
 
+    @Override
+    String toSQL() {
+        return sql.toSQL(this, table);
+    }
+
     @Override
     protected UpdateResult getResultType() throws SQLException {
         return new UpdateResult(sql, sql.build(this, table));
@@ -85,6 +104,36 @@ public class Update extends UpdateStatementBase<Update> {
         return String.format("UPDATE ${table} %s %s;", this.setsToString(), super.toString());
     }
 
+    /**
+     * Gets the statement parameters, in the order of the {@code ?} in the SQL.
+     *
+     * @return The values to set followed by the where condition values.
+     */
+    @Override
+    public List<Object> getParameters() {
+        List<Object> parameters = sets.stream().map(Map.Entry::getValue).collect(Collectors.toList());
+        parameters.addAll(super.getParameters());
+        return parameters;
+    }
+
+    /**
+     * Converts the statement to SQL once, to be executed many times without building it again.
+     *
+     * @return The compiled query, with the current values as the default parameters.
+     */
+    @CheckReturnValue
+    public CompiledQuery<UpdateResult> compile() {
+        String tableName = table.getName();
+        return new CompiledQuery<>(sql, sql.toSQL(this, table), tableName, getParameters(), 0, (ezSQL, statement) -> {
+            try {
+                return new UpdateResult(ezSQL, statement);
+            } finally {
+                // the parameters can change the updated rows, so the entire table entity cache is cleared
+                ezSQL.tableChanged(tableName, null);
+            }
+        });
+    }
+
     /**
      * Gets the list of values to set.
      *
@@ -93,4 +142,49 @@ public class Update extends UpdateStatementBase<Update> {
     public List<Map.Entry<String, Object>> getSets() {
         return sets;
     }
+
+    /**
+     * A value to set, with the binder resolved by the model column.
+     */
+    static class ColumnSet extends AbstractMap.SimpleEntry<String, Object> {
+
+        /**
+         * The binder of the value. It's null if the value was changed.
+         */
+        private ParameterBinder<Object> binder;
+
+        /**
+         * Builds a value to set.
+         *
+         * @param columnName The column name.
+         * @param value      The new value.
+         * @param binder     The binder of the value.
+         */
+        ColumnSet(String columnName, Object value, ParameterBinder<Object> binder) {
+            super(columnName, value);
+            this.binder = binder;
+        }
+
+        /**
+         * Gets the binder of the value.
+         *
+         * @return The binder or null to use the binder registered to the value class.
+         */
+        ParameterBinder<Object> getBinder() {
+            return binder;
+        }
+
+        /**
+         * Changes the value. The binder is found again by the class of the new value.
+         *
+         * @param value The new value.
+         *
+         * @return The old value.
+         */
+        @Override
+        public Object setValue(Object value) {
+            binder = null;
+            return super.setValue(value);
+        }
+    }
 }
@@ -18,8 +18,8 @@ public class UpdateResult extends Result {
     private int result;
 
     /**
-     * Executes a update and save the updated rows. Use {@link #close()} to close the statement, use try-with-resources
-     * to closes automatically.
+     * Executes a update and save the updated rows. The statement is closed and the connection is given back right after
+     * the update, so a result that is never closed doesn't hold the connection; {@link #close()} does nothing.
      *
      * @param sql       The EzSQL connection.
      * @param statement The statement.
@@ -28,7 +28,18 @@ public class UpdateResult extends Result {
      */
     public UpdateResult(EzSQL sql, PreparedStatement statement) throws SQLException {
         super(sql, statement);
-        this.result = this.getStatement().executeUpdate();
+        try {
+            this.result = this.getStatement().executeUpdate();
+            if (event != null)
+                event.executed(result);
+        } catch (SQLException | RuntimeException e) {
+            if (event != null)
+                event.failed(e);
+            this.close();
+            throw e;
+        }
+        // only the updated rows are read, so the connection can be used by other statements now
+        this.close();
     }
 
     /**
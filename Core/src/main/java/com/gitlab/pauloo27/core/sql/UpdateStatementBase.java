@@ -1,6 +1,7 @@
 package com.gitlab.pauloo27.core.sql;
 
 import java.sql.SQLException;
+import java.util.Collection;
 
 /**
  * A abstract update statement.
@@ -12,6 +13,12 @@ import java.sql.SQLException;
  * @since 0.1.0
  */
 public abstract class UpdateStatementBase<Statement extends UpdateStatementBase> extends StatementBase<Statement, UpdateResult> {
+    /**
+     * The ids of the objects changed by the statement, removed from the table entity cache after the execution. If
+     * it's null, the entire table entity cache is cleared.
+     */
+    Collection<?> changedIds;
+
     /**
      * Builds a update statement.
      *
@@ -22,6 +29,22 @@ public abstract class UpdateStatementBase<Statement extends UpdateStatementBase>
         super(sql, table);
     }
 
+    /**
+     * Converts the statement to SQL, using the EzSQL of the statement.
+     *
+     * @return The SQL with a {@code ?} for each parameter (see {@link #getParameters()}).
+     */
+    abstract String toSQL();
+
+    /**
+     * Removes the cached queries of the table and the changed objects from the table entity cache.
+     */
+    @Override
+    void afterExecute() {
+        if (table != null)
+            sql.tableChanged(table.getName(), changedIds);
+    }
+
     /**
      * Execute and close the statement.
      */
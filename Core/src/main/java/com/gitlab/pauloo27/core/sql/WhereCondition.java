@@ -5,6 +5,8 @@ import com.google.common.base.Preconditions;
 import edu.umd.cs.findbugs.annotations.CheckReturnValue;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -221,6 +223,22 @@ public class WhereCondition<Statement extends StatementBase> {
         return statement;
     }
 
+    /**
+     * Adds a Where In condition.
+     *
+     * @param columnName The column name.
+     * @param values     The expected values. It cannot be empty.
+     *
+     * @return The current object instance.
+     */
+    @CheckReturnValue
+    public Statement in(String columnName, Collection<?> values) {
+        Preconditions.checkArgument(EzSQL.checkEntryName(columnName), columnName + " is not a valid name");
+        this.statements.add(new WhereStatement(new Where(columnName, values, WhereType.IN), previousSeparator));
+        previousSeparator = null;
+        return statement;
+    }
+
     /**
      * Represents a statement base.
      */
@@ -298,6 +316,8 @@ public class WhereCondition<Statement extends StatementBase> {
         public Where(String columnName, Object value, WhereType type) {
             Preconditions.checkNotNull(value, "The value cannot be null");
             Preconditions.checkArgument(EzSQL.checkEntryName(columnName), columnName + " is not a valid name");
+            Preconditions.checkArgument(type != WhereType.IN || (value instanceof Collection && !((Collection) value).isEmpty()),
+                    "The IN value should be a non-empty collection");
             this.type = type;
             this.columnName = columnName;
             this.value = value;
@@ -337,12 +357,24 @@ public class WhereCondition<Statement extends StatementBase> {
         /**
          * Gets the comparator value. It's nullable.
          *
-         * @return The value.
+         * @return The value. It's a collection if the type is IN.
          */
         public Object getValue() {
             return value;
         }
 
+        /**
+         * Gets the condition converted to SQL, without the column name.
+         *
+         * @return The where type converted to SQL, with one parameter per value if the type is IN.
+         */
+        public String conditionToString() {
+            if (type == WhereType.IN)
+                return String.format("IN (%s)", String.join(", ", Collections.nCopies(((Collection) value).size(), "?")));
+
+            return type.toString();
+        }
+
         /**
          * Where separator type.
          */
@@ -396,7 +428,11 @@ public class WhereCondition<Statement extends StatementBase> {
             /**
              * {@code <= ?}.
              */
-            AT_MOST("<= ?");
+            AT_MOST("<= ?"),
+            /**
+             * {@code IN (?, ...)}, with one parameter per value (see {@link Where#conditionToString()}).
+             */
+            IN("IN");
 
             /**
              * The enum converted to SQL.
@@ -19,6 +19,16 @@ public class EzMariaDB extends EzSQL<Database, Table> {
         return 3306;
     }
 
+    /**
+     * Gets the max amount of parameters of a statement.
+     *
+     * @return {@code 65535}.
+     */
+    @Override
+    public int getMaxParameters() {
+        return 65535;
+    }
+
     /**
      * Gets the URL Base.
      *
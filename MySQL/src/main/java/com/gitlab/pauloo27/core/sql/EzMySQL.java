@@ -1,5 +1,8 @@
 package com.gitlab.pauloo27.core.sql;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
 /**
  * The MySQL implementation of EzSQL.
  *
@@ -18,6 +21,16 @@ public class EzMySQL extends EzSQL<Database, Table> {
         return 3306;
     }
 
+    /**
+     * Gets the max amount of parameters of a statement.
+     *
+     * @return {@code 65535}.
+     */
+    @Override
+    public int getMaxParameters() {
+        return 65535;
+    }
+
     /**
      * Gets the URL Base.
      *
@@ -38,6 +51,21 @@ public class EzMySQL extends EzSQL<Database, Table> {
         return "com.mysql.cj.jdbc.Driver";
     }
 
+    /**
+     * Makes the driver stream the rows one by one, the only streaming mode of MySQL Connector/J without
+     * {@code useCursorFetch}. The connection cannot run other statements until the result is closed, use a pool (see
+     * {@link #withPool(int, int, long)}) to keep running statements while streaming.
+     *
+     * @param statement The statement.
+     * @param fetchSize The amount of rows fetched at once. Ignored, the rows are always fetched one by one.
+     *
+     * @throws SQLException Problems to set the fetch size.
+     */
+    @Override
+    protected void applyFetchSize(PreparedStatement statement, int fetchSize) throws SQLException {
+        statement.setFetchSize(Integer.MIN_VALUE);
+    }
+
     @Override
     protected Database getDatabaseByName(String name) {
         return new Database(this, name);
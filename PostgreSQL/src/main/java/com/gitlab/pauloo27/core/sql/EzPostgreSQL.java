@@ -1,11 +1,18 @@
 package com.gitlab.pauloo27.core.sql;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * The PostgreSQL implementation of EzSQL.
@@ -25,6 +32,16 @@ public class EzPostgreSQL extends EzSQL<PostgreSQLDatabase, PostgreSQLTable> {
         return 5432;
     }
 
+    /**
+     * Gets the max amount of parameters of a statement.
+     *
+     * @return {@code 32767}.
+     */
+    @Override
+    public int getMaxParameters() {
+        return 32767;
+    }
+
     /**
      * Gets the URL Base.
      *
@@ -76,6 +93,69 @@ public class EzPostgreSQL extends EzSQL<PostgreSQLDatabase, PostgreSQLTable> {
         return super.connect();
     }
 
+    /**
+     * Sets the fetch size. The PostgreSQL driver only uses a cursor (and fetches the rows in chunks) if the autocommit
+     * is disabled, so it's disabled when the connection is borrowed from the pool (see {@link #withPool(int, int,
+     * long)}); the pool enables it again when the connection is given back. The shared connection is not changed, so
+     * without a pool the whole result is still fetched at once.
+     *
+     * @param statement The statement.
+     * @param fetchSize The amount of rows fetched at once.
+     *
+     * @throws SQLException Problems to set the fetch size.
+     */
+    @Override
+    protected void applyFetchSize(PreparedStatement statement, int fetchSize) throws SQLException {
+        Connection connection = statement.getConnection();
+        if (getPool() != null && getPool().isBorrowed(connection) && connection.getAutoCommit())
+            connection.setAutoCommit(false);
+
+        super.applyFetchSize(statement, fetchSize);
+    }
+
+    /**
+     * Updates multiples objects using {@code UPDATE ... FROM (VALUES (...), ...)}, joining the values by the id. The
+     * values are cast to the column types, because the PostgreSQL cannot infer the types of a VALUES list.
+     *
+     * @param table   The table.
+     * @param objects The objects to update. They should be of the same class and have an id.
+     * @param <T>     The object type.
+     *
+     * @return The updated rows.
+     *
+     * @throws SQLException Problems to execute the statement.
+     */
+    @Override
+    public <T> int updateAll(PostgreSQLTable table, Collection<T> objects) throws SQLException {
+        if (objects.isEmpty())
+            return 0;
+
+        EntityMetadata<T> entity = getEntityMetadata(objects);
+        List<EntityMetadata.Column> columns = new ArrayList<>();
+        columns.add(entity.getIdColumn());
+        columns.addAll(getUpdatableColumns(entity));
+
+        String sets = columns.stream().skip(1)
+                .map(column -> String.format("%s = v.%s", column.getName(), column.getName()))
+                .collect(Collectors.joining(", "));
+        String row = columns.stream()
+                .map(column -> String.format("CAST(? AS %s)", build(column.getDataType())))
+                .collect(Collectors.joining(", ", "(", ")"));
+        String names = columns.stream().map(EntityMetadata.Column::getName).collect(Collectors.joining(", "));
+        String idName = entity.getIdColumn().getName();
+
+        int updated = 0;
+        for (List<T> chunk : Lists.partition(new ArrayList<>(objects), Math.max(1, getMaxParameters() / columns.size()))) {
+            List<Object> values = new ArrayList<>();
+            chunk.forEach(object -> columns.forEach(column -> values.add(column.getSerialized(object))));
+
+            updated += executeUpdate(String.format("UPDATE %s SET %s FROM (VALUES %s) AS v (%s) WHERE %s.%s = v.%s;",
+                    table.getName(), sets, String.join(", ", Collections.nCopies(chunk.size(), row)), names,
+                    table.getName(), idName, idName), values);
+        }
+        return updated;
+    }
+
     /**
      * Builds a insert returning statement.
      *
@@ -89,10 +169,16 @@ public class EzPostgreSQL extends EzSQL<PostgreSQLDatabase, PostgreSQLTable> {
      */
     public PreparedStatement build(Insert insert, String columnsName, PostgreSQLTable table) throws SQLException {
         Preconditions.checkArgument(Arrays.stream(columnsName.split(", ")).allMatch(EzSQL::checkEntryName), columnsName + " is not a valid name");
-        PreparedStatement statement = this.getConnection().prepareStatement(
-                String.format("INSERT INTO %s (%s) VALUES %s RETURNING %s;", table.getName(), insert.getColumnsName(), insert.valuesToString(), columnsName));
-
-        setValuesObjects(statement, new AtomicInteger(), insert.getValues());
+        PreparedStatement statement = this.prepare(
+                String.format("INSERT INTO %s (%s) VALUES %s RETURNING %s;", table.getName(), insert.getColumnsName(), insert.valuesToString(), columnsName),
+                table.getName());
+
+        try {
+            setValuesObjects(statement, new AtomicInteger(), insert.getValues(), insert.getBinders());
+        } catch (SQLException | RuntimeException e) {
+            discard(statement, e);
+            throw e;
+        }
         return statement;
     }
 
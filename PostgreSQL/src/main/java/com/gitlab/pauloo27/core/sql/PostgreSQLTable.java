@@ -1,6 +1,8 @@
 package com.gitlab.pauloo27.core.sql;
 
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Locale;
 
 /**
  * The SQL Table.
@@ -49,5 +51,35 @@ public class PostgreSQLTable extends Table {
         return new InsertReturning(sql, this, columnNames, returnColumns, values);
     }
 
+    /**
+     * Deletes multiples objects using {@code WHERE id = ANY(?)}, binding the ids as an array. The statement is the same
+     * to any amount of objects, so it's not split and it can be reused by the statement cache.
+     *
+     * @param objects The objects to delete. They should be of the same class and have an id.
+     * @param <T>     The object to delete type.
+     *
+     * @return The deleted rows.
+     *
+     * @throws SQLException Problems to execute the statement.
+     */
+    @Override
+    public <T> int deleteAll(Collection<T> objects) throws SQLException {
+        if (objects.isEmpty())
+            return 0;
+
+        EntityMetadata<T> entity = sql.getEntityMetadata(objects);
+        EntityMetadata.Column idColumn = entity.getIdColumn();
+        String typeName = sql.build(idColumn.getDataType()).toLowerCase(Locale.ROOT);
+        Object[] ids = objects.stream().map(idColumn::getSerialized).toArray();
+
+        try {
+            return sql.execute(String.format("DELETE FROM %s WHERE %s = ANY(?);", this.getName(), idColumn.getName()), statement -> {
+                statement.setArray(1, statement.getConnection().createArrayOf(typeName, ids));
+                return statement.executeUpdate();
+            });
+        } finally {
+            invalidateCached(objects);
+        }
+    }
 
 }
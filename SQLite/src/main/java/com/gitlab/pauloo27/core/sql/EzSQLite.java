@@ -1,7 +1,14 @@
 package com.gitlab.pauloo27.core.sql;
 
+import com.google.common.base.Preconditions;
+import org.sqlite.SQLiteConfig;
+
+import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The SQLite implementation of EzSQL.
@@ -12,6 +19,43 @@ import java.sql.SQLException;
  */
 public class EzSQLite extends EzSQL<SQLiteDatabase, SQLiteTable> {
 
+    /**
+     * The pragmas set in each connection. It's nullable.
+     */
+    protected SQLitePerformanceProfile performanceProfile;
+    /**
+     * The maximum number of read-only connections. If it's 0, the reads use the same connection as the writes.
+     */
+    protected int readPoolSize;
+    /**
+     * The time (in milliseconds) that a read-only connection can be idle before it's closed.
+     */
+    protected long readPoolIdleTimeout;
+    /**
+     * The time (in milliseconds) that a write waits for the writer connection.
+     */
+    protected long writerTimeout = 30000;
+    /**
+     * The read-only connections. It's null if the read pool is disabled or not connected.
+     */
+    protected ConnectionPool readPool;
+    /**
+     * Gives the writer connection to one thread at a time, in the arrival order.
+     */
+    private final Semaphore writer = new Semaphore(1, true);
+    /**
+     * Guards the writer owner and holds.
+     */
+    private final Object writerLock = new Object();
+    /**
+     * The thread that holds the writer connection. It's null if the writer is free.
+     */
+    private Thread writerOwner;
+    /**
+     * The leases of the writer connection not released yet, all got by the owner thread.
+     */
+    private int writerHolds;
+
     /**
      * Builds a SQLite connection .
      *
@@ -21,6 +65,88 @@ public class EzSQLite extends EzSQL<SQLiteDatabase, SQLiteTable> {
         withAddress(filePath);
     }
 
+    /**
+     * Sets the pragmas set in each connection when it's opened, like the journal mode and the cache size. Should be
+     * called before connecting.
+     *
+     * @param performanceProfile The profile, like {@link SQLitePerformanceProfile#durable()} or {@link
+     *                           SQLitePerformanceProfile#throughput()}, or null to keep the SQLite defaults.
+     *
+     * @return The current object instance.
+     */
+    public EzSQLite withPerformanceProfile(SQLitePerformanceProfile performanceProfile) {
+        this.performanceProfile = performanceProfile;
+        return this;
+    }
+
+    /**
+     * Gets the pragmas set in each connection.
+     *
+     * @return The profile or null if the SQLite defaults are used.
+     */
+    public SQLitePerformanceProfile getPerformanceProfile() {
+        return performanceProfile;
+    }
+
+    /**
+     * Splits the reads and the writes: the selects run in a pool of read-only connections, while the inserts, updates,
+     * deletes and the other statements run in the single writer connection, one thread at a time (the others wait in a
+     * queue). The database is changed to the WAL journal mode, so the reads run while a write is in progress. Should be
+     * called before connecting. Cannot be used with {@link #withPool(int, int, long)} or with in-memory
+     * databases.
+     * <p>
+     * The transactions use the writer connection, including their selects. The writer is held from the statement
+     * execution until its result is closed ({@link UpdateResult} gives it back right after the update). A thread that
+     * already holds the writer (like after {@link #acquireConnection()}) gets it again without waiting. The connection
+     * of {@link #getConnection()} is the writer, so it shouldn't be used directly while other threads run statements.
+     *
+     * @param maxSize     The maximum number of read-only connections, usually the number of cores, or 0 to disable the
+     *                    read pool.
+     * @param idleTimeout The time (in milliseconds) that a read-only connection can be idle before it's closed or 0 to
+     *                    never close them.
+     *
+     * @return The current object instance.
+     */
+    public EzSQLite withReadPool(int maxSize, long idleTimeout) {
+        Preconditions.checkArgument(maxSize >= 0, "The read pool size cannot be negative");
+        Preconditions.checkArgument(idleTimeout >= 0, "The idle timeout cannot be negative");
+        this.readPoolSize = maxSize;
+        this.readPoolIdleTimeout = idleTimeout;
+        return this;
+    }
+
+    /**
+     * Sets the time that a write waits for the writer connection, used with {@link #withReadPool(int, long)}. The
+     * default value is 30 seconds.
+     *
+     * @param writerTimeout The timeout in milliseconds.
+     *
+     * @return The current object instance.
+     */
+    public EzSQLite withWriterTimeout(long writerTimeout) {
+        Preconditions.checkArgument(writerTimeout > 0, "The writer timeout should be positive");
+        this.writerTimeout = writerTimeout;
+        return this;
+    }
+
+    /**
+     * Gets the read-only connections pool.
+     *
+     * @return The pool or null if the read pool is disabled or not connected.
+     */
+    public ConnectionPool getReadPool() {
+        return readPool;
+    }
+
+    /**
+     * Gets the number of threads waiting for the writer connection.
+     *
+     * @return The estimated number of waiting threads.
+     */
+    public int getWriterQueueLength() {
+        return writer.getQueueLength();
+    }
+
     /**
      * Gets the SQL server's port.
      *
@@ -85,11 +211,168 @@ public class EzSQLite extends EzSQL<SQLiteDatabase, SQLiteTable> {
 
     @Override
     public EzSQL<SQLiteDatabase, SQLiteTable> connect() throws SQLException {
-        if (!this.readyToConnect()) throw new SQLException("Not ready to connect");
-        this.connection = DriverManager.getConnection(getURLBase() + address);
+        // SQLite have just one database per file
+        createDefaultDatabaseIfNotExists = false;
+        if (readPoolSize == 0)
+            return super.connect();
+
+        Preconditions.checkState(poolMaxSize == 0, "The read pool cannot be used with the connection pool");
+        Preconditions.checkState(!address.equals(":memory:"), "The read pool cannot be used with in-memory databases");
+        super.connect();
+        try {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode = WAL");
+            }
+            readPool = new ConnectionPool(this::createReadConnection, 0, readPoolSize, readPoolIdleTimeout)
+                    .withDiscardListener(this::clearStatementCache);
+        } catch (SQLException | RuntimeException e) {
+            try {
+                connection.close();
+            } catch (SQLException closeException) {
+                e.addSuppressed(closeException);
+            }
+            throw e;
+        }
         return this;
     }
 
+    /**
+     * Opens a read-only connection of the read pool.
+     *
+     * @return The new connection.
+     *
+     * @throws SQLException Problems to connect.
+     */
+    protected Connection createReadConnection() throws SQLException {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setReadOnly(true);
+        Connection connection = DriverManager.getConnection(getURLBase() + address, config.toProperties());
+        if (performanceProfile == null)
+            return connection;
+
+        try {
+            performanceProfile.apply(connection, true);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    /**
+     * Gets a connection to run a statement. With the read pool, the selects borrow a read-only connection and the other
+     * statements wait for the writer connection. The writer is reentrant: a thread that holds it gets it again without
+     * waiting, and it's given back when every lease of the thread is released. Each lease gives it back only once. The
+     * transactions keep using their own connection.
+     *
+     * @param statement The SQL statement or null if unknown.
+     *
+     * @return The lease.
+     *
+     * @throws SQLException Problems to get the connection or timeout waiting for the writer.
+     */
+    @Override
+    protected ConnectionLease leaseConnection(String statement) throws SQLException {
+        if (readPool == null || isInTransaction())
+            return super.leaseConnection(statement);
+
+        if (statement != null && isRead(statement))
+            return readPool.lease();
+
+        acquireWriter();
+        return new ConnectionLease(connection, this::releaseWriter);
+    }
+
+    /**
+     * Waits for the writer connection, unless the current thread already holds it.
+     *
+     * @throws SQLException Timeout or interrupted while waiting for the writer.
+     */
+    private void acquireWriter() throws SQLException {
+        Thread current = Thread.currentThread();
+        synchronized (writerLock) {
+            if (writerOwner == current) {
+                writerHolds++;
+                return;
+            }
+        }
+
+        try {
+            if (!writer.tryAcquire(writerTimeout, TimeUnit.MILLISECONDS))
+                throw new SQLException("Timeout waiting for the writer connection");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the writer connection", e);
+        }
+        synchronized (writerLock) {
+            writerOwner = current;
+            writerHolds = 1;
+        }
+    }
+
+    /**
+     * Releases a lease of the writer connection, giving the writer back when it's the last lease of the owner thread.
+     * It can be called by any thread (like when a result is closed by other thread).
+     */
+    private void releaseWriter() {
+        synchronized (writerLock) {
+            if (--writerHolds > 0)
+                return;
+            writerOwner = null;
+        }
+        writer.release();
+    }
+
+    /**
+     * Checks if a transaction can get a connection that no other thread uses while the transaction runs. With the read
+     * pool, the transaction holds the writer connection and the other threads only read committed data.
+     *
+     * @return If the connection pool or the read pool is enabled.
+     */
+    @Override
+    protected boolean supportsTransactions() {
+        return readPool != null || super.supportsTransactions();
+    }
+
+    @Override
+    public void disconnect() throws SQLException {
+        if (readPool != null) {
+            readPool.close();
+            readPool = null;
+        }
+        super.disconnect();
+    }
+
+    /**
+     * Checks if a statement only reads.
+     *
+     * @param statement The SQL statement.
+     *
+     * @return If it's a select.
+     */
+    private static boolean isRead(String statement) {
+        int start = 0;
+        while (start < statement.length() && Character.isWhitespace(statement.charAt(start))) {
+            start++;
+        }
+        return statement.regionMatches(true, start, "SELECT", 0, 6);
+    }
+
+    @Override
+    protected Connection createConnection(boolean selectDatabase) throws SQLException {
+        Connection connection = DriverManager.getConnection(getURLBase() + address);
+        if (performanceProfile == null)
+            return connection;
+
+        try {
+            performanceProfile.apply(connection);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
     @Override
     public String build(Attribute attribute) {
         if (attribute.toSQL().equalsIgnoreCase("AUTO_INCREMENT")) {
@@ -0,0 +1,289 @@
+package com.gitlab.pauloo27.core.sql;
+
+import com.google.common.base.Preconditions;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The pragmas set in every SQLite connection when it's opened (see {@link EzSQLite#withPerformanceProfile(
+ * SQLitePerformanceProfile)}). The settings not set keep the SQLite defaults (rollback journal, {@code synchronous =
+ * FULL}, 2 MiB page cache, no memory mapping and temporary tables in files).
+ * <p>
+ * There are two presets: {@link #durable()}, that doesn't lose committed transactions even on a power loss, and {@link
+ * #throughput()}, that can lose the last transactions on a power loss (but not on an application crash).
+ *
+ * @author Paulo
+ * @version 1.0
+ * @since 0.5.0
+ */
+public class SQLitePerformanceProfile {
+
+    /**
+     * The journal mode. It's nullable.
+     */
+    private JournalMode journalMode;
+    /**
+     * The synchronous mode. It's nullable.
+     */
+    private Synchronous synchronous;
+    /**
+     * The maximum amount of bytes of the database file mapped in the memory or -1 if it's not set.
+     */
+    private long mmapSize = -1;
+    /**
+     * The page cache size in KiB or -1 if it's not set.
+     */
+    private long cacheSize = -1;
+    /**
+     * Where the temporary tables and indexes are stored. It's nullable.
+     */
+    private TempStore tempStore;
+    /**
+     * The time (in milliseconds) to wait for a lock or -1 if it's not set.
+     */
+    private long busyTimeout = -1;
+
+    /**
+     * Creates a profile that durably stores each commit, using the write-ahead log to let the reads run while a write
+     * is in progress.
+     *
+     * @return WAL journal, {@code synchronous = FULL}, 8 MiB page cache, temporary data in memory and 5 seconds of busy
+     * timeout.
+     */
+    public static SQLitePerformanceProfile durable() {
+        return new SQLitePerformanceProfile()
+                .withJournalMode(JournalMode.WAL)
+                .withSynchronous(Synchronous.FULL)
+                .withCacheSize(8 * 1024)
+                .withTempStore(TempStore.MEMORY)
+                .withBusyTimeout(5000);
+    }
+
+    /**
+     * Creates a profile that favors the throughput. The WAL is only synced in the checkpoints, so a power loss can undo
+     * the last commits, but the database is never corrupted.
+     *
+     * @return WAL journal, {@code synchronous = NORMAL}, 256 MiB memory mapping, 64 MiB page cache, temporary data in
+     * memory and 5 seconds of busy timeout.
+     */
+    public static SQLitePerformanceProfile throughput() {
+        return new SQLitePerformanceProfile()
+                .withJournalMode(JournalMode.WAL)
+                .withSynchronous(Synchronous.NORMAL)
+                .withMmapSize(256L * 1024 * 1024)
+                .withCacheSize(64 * 1024)
+                .withTempStore(TempStore.MEMORY)
+                .withBusyTimeout(5000);
+    }
+
+    /**
+     * Sets the journal mode ({@code PRAGMA journal_mode}). The journal mode is stored in the database file when it's
+     * WAL. The in-memory databases only support {@link JournalMode#MEMORY} and {@link JournalMode#OFF}.
+     *
+     * @param journalMode The journal mode.
+     *
+     * @return The current object instance.
+     */
+    public SQLitePerformanceProfile withJournalMode(JournalMode journalMode) {
+        this.journalMode = journalMode;
+        return this;
+    }
+
+    /**
+     * Sets when SQLite waits the data to be written to the disk ({@code PRAGMA synchronous}).
+     *
+     * @param synchronous The synchronous mode.
+     *
+     * @return The current object instance.
+     */
+    public SQLitePerformanceProfile withSynchronous(Synchronous synchronous) {
+        this.synchronous = synchronous;
+        return this;
+    }
+
+    /**
+     * Sets the maximum amount of bytes of the database file read using memory mapping ({@code PRAGMA mmap_size}).
+     *
+     * @param mmapSize The amount of bytes or 0 to disable the memory mapping.
+     *
+     * @return The current object instance.
+     */
+    public SQLitePerformanceProfile withMmapSize(long mmapSize) {
+        Preconditions.checkArgument(mmapSize >= 0, "The mmap size cannot be negative");
+        this.mmapSize = mmapSize;
+        return this;
+    }
+
+    /**
+     * Sets the page cache size of each connection ({@code PRAGMA cache_size}).
+     *
+     * @param kibibytes The cache size in KiB.
+     *
+     * @return The current object instance.
+     */
+    public SQLitePerformanceProfile withCacheSize(long kibibytes) {
+        Preconditions.checkArgument(kibibytes > 0, "The cache size should be positive");
+        this.cacheSize = kibibytes;
+        return this;
+    }
+
+    /**
+     * Sets where the temporary tables and indexes are stored ({@code PRAGMA temp_store}).
+     *
+     * @param tempStore The temporary storage.
+     *
+     * @return The current object instance.
+     */
+    public SQLitePerformanceProfile withTempStore(TempStore tempStore) {
+        this.tempStore = tempStore;
+        return this;
+    }
+
+    /**
+     * Sets the time that a statement waits for a lock held by other connection before failing with {@code
+     * SQLITE_BUSY} ({@code PRAGMA busy_timeout}).
+     *
+     * @param milliseconds The timeout in milliseconds or 0 to fail immediately.
+     *
+     * @return The current object instance.
+     */
+    public SQLitePerformanceProfile withBusyTimeout(long milliseconds) {
+        Preconditions.checkArgument(milliseconds >= 0, "The busy timeout cannot be negative");
+        this.busyTimeout = milliseconds;
+        return this;
+    }
+
+    /**
+     * Gets the pragmas of the profile.
+     *
+     * @return The unmodifiable list of pragma statements, like {@code PRAGMA journal_mode = WAL}. The busy timeout is
+     * the first, so the journal mode change can wait for a lock.
+     */
+    public List<String> getPragmas() {
+        List<String> pragmas = new ArrayList<>();
+        if (busyTimeout != -1)
+            pragmas.add("PRAGMA busy_timeout = " + busyTimeout);
+        if (journalMode != null)
+            pragmas.add("PRAGMA journal_mode = " + journalMode.name());
+        if (synchronous != null)
+            pragmas.add("PRAGMA synchronous = " + synchronous.name());
+        if (mmapSize != -1)
+            pragmas.add("PRAGMA mmap_size = " + mmapSize);
+        // the negative cache size is in KiB instead of pages
+        if (cacheSize != -1)
+            pragmas.add("PRAGMA cache_size = -" + cacheSize);
+        if (tempStore != null)
+            pragmas.add("PRAGMA temp_store = " + tempStore.name());
+        return Collections.unmodifiableList(pragmas);
+    }
+
+    /**
+     * Sets the pragmas in a connection.
+     *
+     * @param connection The connection.
+     *
+     * @throws SQLException Problems to execute a pragma.
+     */
+    public void apply(Connection connection) throws SQLException {
+        apply(connection, false);
+    }
+
+    /**
+     * Sets the pragmas in a connection.
+     *
+     * @param connection The connection.
+     * @param readOnly   If the connection is read-only. The journal mode is skipped, only a writer can change it.
+     *
+     * @throws SQLException Problems to execute a pragma.
+     */
+    public void apply(Connection connection, boolean readOnly) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String pragma : getPragmas()) {
+                if (readOnly && pragma.startsWith("PRAGMA journal_mode"))
+                    continue;
+                statement.execute(pragma);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.join("; ", getPragmas()).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The SQLite journal modes.
+     */
+    public enum JournalMode {
+        /**
+         * Rollback journal, deleted after each transaction (the default).
+         */
+        DELETE,
+        /**
+         * Rollback journal, truncated after each transaction.
+         */
+        TRUNCATE,
+        /**
+         * Rollback journal, invalidated by overwriting its header after each transaction.
+         */
+        PERSIST,
+        /**
+         * Rollback journal stored in the memory.
+         */
+        MEMORY,
+        /**
+         * Write-ahead log, the readers don't block the writer and the writer doesn't block the readers.
+         */
+        WAL,
+        /**
+         * No journal, the transactions cannot be rolled back safely.
+         */
+        OFF
+    }
+
+    /**
+     * The SQLite synchronous modes.
+     */
+    public enum Synchronous {
+        /**
+         * Never waits the disk writes.
+         */
+        OFF,
+        /**
+         * Waits the disk writes in the critical moments. With WAL, only the checkpoints wait.
+         */
+        NORMAL,
+        /**
+         * Waits the disk writes of each transaction (the default).
+         */
+        FULL,
+        /**
+         * Like {@link #FULL}, also waiting the journal deletion.
+         */
+        EXTRA
+    }
+
+    /**
+     * Where the temporary tables and indexes are stored.
+     */
+    public enum TempStore {
+        /**
+         * The compile time default (usually files).
+         */
+        DEFAULT,
+        /**
+         * Temporary files.
+         */
+        FILE,
+        /**
+         * The memory.
+         */
+        MEMORY
+    }
+}
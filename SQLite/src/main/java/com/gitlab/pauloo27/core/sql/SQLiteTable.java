@@ -22,7 +22,11 @@ public class SQLiteTable extends Table {
 
     @Override
     public void truncate() throws SQLException {
-        sql.executeUnsafeStatementAndClose("DELETE FROM %s", getName());
+        try {
+            sql.executeUnsafeStatementAndClose("DELETE FROM %s", getName());
+        } finally {
+            sql.tableChanged(getName(), null);
+        }
     }
 
     @Override
@@ -1,9 +1,16 @@
 package com.gitlab.pauloo27.core.sql;
 
+import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.File;
+import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class Tests {
 
@@ -14,4 +21,149 @@ public class Tests {
         System.out.println("Deleting file...");
         file.delete();
     }
+
+    @Test
+    public void testWithSQLitePool() throws SQLException, ClassNotFoundException, IllegalAccessException {
+        File file = new File("db-pool.sqlite");
+        EzSQL sql = new EzSQLite(file.getPath()).withPool(1, 4, 0).withStatementCache(16);
+        Tester.testWith(sql);
+        System.out.println("Statement cache: " + sql.getStatementCacheStats());
+        Assert.assertTrue(sql.getStatementCacheStats().getHits() > 0);
+
+        // the pooled connections keep the default database
+        try {
+            sql.changeDatabase(new SQLiteDatabase(sql, "other"));
+            Assert.fail("The database cannot be changed with the pool");
+        } catch (SQLException expected) {
+            System.out.println(expected.getMessage());
+        }
+        System.out.println("Deleting file...");
+        file.delete();
+    }
+
+    @Test
+    public void testWithSQLiteProfile() throws SQLException, ClassNotFoundException, IllegalAccessException {
+        File file = new File("db-profile.sqlite");
+        EzSQLite sql = new EzSQLite(file.getPath()).withPerformanceProfile(SQLitePerformanceProfile.throughput());
+        sql.withPool(1, 4, 0);
+        Tester.testWith(sql);
+
+        Connection connection = sql.acquireConnection();
+        try (Statement statement = connection.createStatement()) {
+            Assert.assertEquals("wal", readPragma(statement, "journal_mode"));
+            // NORMAL
+            Assert.assertEquals("1", readPragma(statement, "synchronous"));
+            Assert.assertEquals("-65536", readPragma(statement, "cache_size"));
+            // MEMORY
+            Assert.assertEquals("2", readPragma(statement, "temp_store"));
+        } finally {
+            sql.releaseConnection(connection);
+        }
+        sql.disconnect();
+        System.out.println("Deleting file...");
+        file.delete();
+        new File(file.getPath() + "-wal").delete();
+        new File(file.getPath() + "-shm").delete();
+    }
+
+    @Test
+    public void testWithSQLiteReadPool() throws SQLException, ClassNotFoundException, IllegalAccessException {
+        File file = new File("db-read-pool.sqlite");
+        EzSQLite sql = new EzSQLite(file.getPath()).withReadPool(4, 0).withWriterTimeout(2000);
+        Tester.testWith(sql);
+        Assert.assertNotNull(sql.getReadPool());
+
+        sql.executeUnsafeStatementAndClose("CREATE TABLE counters (id INTEGER PRIMARY KEY AUTOINCREMENT, value INTEGER);");
+        Table counters = sql.getTable("counters");
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(counters.insert("value", i).executeAsync().thenAccept(result -> {
+                try {
+                    result.close();
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+            }));
+            futures.add(counters.count().executeAsync()
+                    .thenAccept(result -> Assert.assertTrue(result.getFirstColumnAsInt() <= 20)));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        Assert.assertEquals(20, counters.count().execute().getFirstColumnAsInt());
+
+        // a not closed update result doesn't hold the writer
+        counters.insert("value", 20).execute();
+        Assert.assertEquals(1, CompletableFuture.supplyAsync(() -> counters.update().set("value", 21)
+                .where().equals("value", 20).execute().getUpdatedRows()).join().intValue());
+
+        // a result opened in a transaction and closed after it doesn't give back the writer
+        QueryResult open = sql.transaction(tx -> counters.select().execute());
+        open.close();
+        Connection writer = sql.acquireConnection();
+        try {
+            Assert.assertFalse(tryAcquireInOtherThread(sql));
+        } finally {
+            sql.releaseConnection(writer);
+        }
+        // releasing twice doesn't add a writer
+        sql.releaseConnection(writer);
+        writer = sql.acquireConnection();
+        try {
+            Assert.assertFalse(tryAcquireInOtherThread(sql));
+        } finally {
+            sql.releaseConnection(writer);
+        }
+        Assert.assertTrue(tryAcquireInOtherThread(sql));
+
+        // the thread that holds the writer can still write
+        writer = sql.acquireConnection();
+        try {
+            counters.insert("value", 22).execute();
+            Assert.assertFalse(tryAcquireInOtherThread(sql));
+        } finally {
+            sql.releaseConnection(writer);
+        }
+        Assert.assertTrue(tryAcquireInOtherThread(sql));
+
+        // the unsafe queries hold the writer until the result set is closed
+        try (ResultSet result = sql.executeUnsafeStatementQuery("PRAGMA user_version")) {
+            Assert.assertTrue(result.next());
+            Assert.assertFalse(tryAcquireInOtherThread(sql));
+        }
+        Assert.assertTrue(tryAcquireInOtherThread(sql));
+
+        // the reads run in read-only connections
+        Connection reader = sql.getReadPool().borrow();
+        try (Statement statement = reader.createStatement()) {
+            Assert.assertTrue(reader.isReadOnly());
+            Assert.assertEquals("wal", readPragma(statement, "journal_mode"));
+        } finally {
+            sql.getReadPool().release(reader);
+        }
+
+        Assert.assertEquals(0, sql.getReadPool().getBorrowedCount());
+        Assert.assertEquals(0, sql.getWriterQueueLength());
+        sql.disconnect();
+        System.out.println("Deleting file...");
+        file.delete();
+        new File(file.getPath() + "-wal").delete();
+        new File(file.getPath() + "-shm").delete();
+    }
+
+    private static boolean tryAcquireInOtherThread(EzSQL sql) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                sql.releaseConnection(sql.acquireConnection());
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }).join();
+    }
+
+    private static String readPragma(Statement statement, String pragma) throws SQLException {
+        try (ResultSet result = statement.executeQuery("PRAGMA " + pragma)) {
+            Assert.assertTrue(result.next());
+            return result.getString(1);
+        }
+    }
 }
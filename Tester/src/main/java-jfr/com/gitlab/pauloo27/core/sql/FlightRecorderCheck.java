@@ -0,0 +1,45 @@
+package com.gitlab.pauloo27.core.sql;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Assert;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+
+public class FlightRecorderCheck {
+
+    public static void check(Table friends) throws SQLException {
+        System.out.println("Testing the flight recorder events");
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable("ezsql.Execute").withoutThreshold();
+            recording.enable("ezsql.Map").withoutThreshold();
+            recording.start();
+
+            friends.select().execute().toList(Friend.class);
+
+            recording.stop();
+            Path file = Files.createTempFile("ezsql", ".jfr");
+            try {
+                recording.dump(file);
+                events = RecordingFile.readAllEvents(file);
+            } finally {
+                Files.delete(file);
+            }
+        } catch (IOException e) {
+            throw new SQLException(e);
+        }
+
+        Assert.assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("ezsql.Execute")
+                && "friends".equals(event.getString("table"))
+                && "Select".equals(event.getString("statementType"))));
+        Assert.assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("ezsql.Map")
+                && "friends".equals(event.getString("table"))
+                && event.getLong("rows") >= 0));
+    }
+}
@@ -3,10 +3,23 @@ package com.gitlab.pauloo27.core.sql;
 import org.junit.Assert;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 import static com.gitlab.pauloo27.core.sql.Friend.FriendType;
 
@@ -53,8 +66,133 @@ public class Tester {
 
         sql.getTable("friends").truncate();
 
+        QueryHistogram histogram = new QueryHistogram();
+        List<QueryEvent> events = new CopyOnWriteArrayList<>();
+        QueryListener collector = events::add;
+        List<LogRecord> slowQueries = new CopyOnWriteArrayList<>();
+        SlowQueryLog slowQueryLog = new SlowQueryLog(0, TimeUnit.MILLISECONDS).withLogger(createLogger(slowQueries));
+        sql.withQueryListener(histogram).withQueryListener(collector).withQueryListener(slowQueryLog);
+
         testTableWithObject(sql);
 
+        sql.removeQueryListener(histogram).removeQueryListener(collector).removeQueryListener(slowQueryLog);
+        checkQueryEvents(histogram, events);
+        checkSlowQueries(slowQueries);
+        checkBindFailure(sql, sql.getTable("friends"));
+
+        checkFlightRecorder(sql.getTable("friends"));
+
+        // every statement should give its pooled connection back
+        if (sql.getPool() != null)
+            Assert.assertEquals(0, sql.getPool().getBorrowedCount());
+    }
+
+    private static void checkQueryEvents(QueryHistogram histogram, List<QueryEvent> events) {
+        System.out.println("Testing the query listeners");
+        String byEmail = "SELECT * FROM friends WHERE email = ?;";
+
+        QueryHistogram.Histogram latencies = histogram.get(byEmail);
+        Assert.assertNotNull(latencies);
+        Assert.assertEquals(4, latencies.getCount());
+        Assert.assertTrue(latencies.getPercentile(99) <= latencies.getMax());
+        System.out.println(byEmail + " " + latencies);
+
+        List<QueryEvent> byEmailEvents = new ArrayList<>();
+        events.forEach(event -> {
+            Assert.assertTrue(event.getTotalNanos() >= 0);
+            if (event.getSQL().equals(byEmail))
+                byEmailEvents.add(event);
+        });
+        Assert.assertEquals(4, byEmailEvents.size());
+        byEmailEvents.forEach(event -> {
+            Assert.assertEquals("friends", event.getTable());
+            Assert.assertEquals(1, event.getRows());
+            Assert.assertFalse(event.isFailed());
+        });
+    }
+
+    private static Logger createLogger(List<LogRecord> records) {
+        Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        return logger;
+    }
+
+    private static void checkSlowQueries(List<LogRecord> records) {
+        System.out.println("Testing the slow query log");
+        String byJohnEmail = "SELECT * FROM friends WHERE email = ?; ['johndoe@example.com'] at " + Tester.class.getName();
+
+        Assert.assertTrue(records.stream().anyMatch(record -> record.getMessage().contains(byJohnEmail)));
+        // the duplicated insert
+        Assert.assertTrue(records.stream().anyMatch(record -> record.getLevel() == Level.SEVERE && record.getThrown() != null));
+        records.stream().filter(record -> record.getMessage().contains(byJohnEmail)).findFirst()
+                .ifPresent(record -> System.out.println(record.getMessage()));
+    }
+
+    private static void checkBindFailure(EzSQL sql, Table friends) {
+        System.out.println("Testing the bind failures");
+        sql.registerBinder(Unbindable.class, (statement, index, value) -> {
+            throw new SQLException("Cannot bind " + value);
+        });
+        List<LogRecord> records = new CopyOnWriteArrayList<>();
+        SlowQueryLog slowQueryLog = new SlowQueryLog(0, TimeUnit.MILLISECONDS).withLogger(createLogger(records));
+        sql.withQueryListener(slowQueryLog);
+        try {
+            friends.select().where().equals("email", new Unbindable()).executeThrowing();
+            Assert.fail("The bind failure should be thrown");
+        } catch (SQLException e) {
+            Assert.assertEquals("Cannot bind unbindable", e.getMessage());
+        } finally {
+            sql.removeQueryListener(slowQueryLog);
+        }
+
+        // the slow query log has the real cause
+        Assert.assertEquals(1, records.size());
+        Assert.assertEquals(Level.SEVERE, records.get(0).getLevel());
+        Assert.assertEquals("Cannot bind unbindable", records.get(0).getThrown().getMessage());
+    }
+
+    private static class Unbindable {
+        @Override
+        public String toString() {
+            return "unbindable";
+        }
+    }
+
+    private static void checkFlightRecorder(Table friends) throws SQLException {
+        // the check uses the JFR API, only built by a JDK that has it
+        Class<?> check;
+        try {
+            check = Class.forName("com.gitlab.pauloo27.core.sql.FlightRecorderCheck");
+        } catch (ClassNotFoundException e) {
+            System.out.println("Skipping the flight recorder events, the JFR API isn't available");
+            return;
+        }
+
+        try {
+            check.getMethod("check", Table.class).invoke(null, friends);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException)
+                throw (SQLException) e.getCause();
+            if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+            throw new SQLException(e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new SQLException(e);
+        }
     }
 
     private static void countSumAndAvg(Table friends) {
@@ -66,6 +204,12 @@ public class Tester {
 
         System.out.println("Testing with AVG");
         Assert.assertEquals(21, friends.avg("age").execute().getFirstColumnAsDouble(), 0);
+
+        System.out.println("Testing async");
+        CompletableFuture<Integer> count = friends.count().executeAsync().thenApply(QueryResult::getFirstColumnAsInt);
+        CompletableFuture<Integer> sum = friends.sum("age").executeAsync().thenApply(QueryResult::getFirstColumnAsInt);
+        Assert.assertEquals(2, count.join().intValue());
+        Assert.assertEquals(42, sum.join().intValue());
     }
 
     private static void testTableWithObject(EzSQL sql) throws SQLException {
@@ -89,10 +233,22 @@ public class Tester {
 
         countSumAndAvg(friends);
 
+        checkQueryCache(sql, friends);
+
+        checkEntityCache(sql, friends);
+
         updateWithObject(friends);
 
         deleteWithObject(friends);
 
+        insertBatchWithObject(friends);
+
+        updateAllWithObject(friends);
+
+        deleteAllWithObject(friends);
+
+        transactionWithObject(sql, friends);
+
         printStatus(start);
     }
 
@@ -114,7 +270,7 @@ public class Tester {
                 .executeAndClose(e -> System.out.println(e.getMessage()));
     }
 
-    private static void checkDataWithObject(Table friends) {
+    private static void checkDataWithObject(Table friends) throws SQLException {
         john = friends.select().where().equals("id", 1).execute().to(Friend.class);
         mary = friends.select().where().equals("id", 2).execute().to(Friend.class);
 
@@ -135,9 +291,99 @@ public class Tester {
                                 String.format("%s@example.com", friend.username.toLowerCase().replace(" ", "")),
                                 friend.email
                         ));
+
+        try (Stream<Friend> stream = friends.select().orderBy("id", StatementBase.OrderByType.ASC).fetchSize(1).execute().stream(Friend.class)) {
+            Assert.assertEquals(1, stream.findFirst().map(friend -> friend.id).orElse(0).intValue());
+        }
+
+        CompiledQuery<QueryResult> byEmail = friends.select().where().equals("email", "").compile();
+        Assert.assertEquals("SELECT * FROM friends WHERE email = ?;", byEmail.getSQL());
+        Assert.assertEquals(1, byEmail.execute("johndoe@example.com").to(Friend.class).id);
+        Assert.assertEquals(2, byEmail.execute("marydoe@example.com").to(Friend.class).id);
+
+        try (ResultIterator<Friend> iterator = friends.select().execute().iterator(Friend.class)) {
+            int count = 0;
+            while (iterator.hasNext()) {
+                Assert.assertNotNull(iterator.next().email);
+                count++;
+            }
+            Assert.assertEquals(2, count);
+        }
     }
 
-    private static void updateWithObject(Table friends) {
+    private static void checkQueryCache(EzSQL sql, Table friends) throws SQLException {
+        System.out.println("Testing the query cache");
+        CacheStats before = sql.getQueryCacheStats();
+
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals(2, friends.count().cached(1, TimeUnit.MINUTES).execute().getFirstColumnAsInt());
+            Assert.assertEquals(42, friends.sum("age").cached(1, TimeUnit.MINUTES).execute().getFirstColumnAsInt());
+
+            List<Friend> byAge = friends.select().where().equals("age", 21).cached(1, TimeUnit.MINUTES).execute().toList(Friend.class);
+            Assert.assertEquals(2, byAge.size());
+            Assert.assertEquals("johndoe@example.com", byAge.get(0).email);
+        }
+        Assert.assertEquals(3, sql.getQueryCacheStats().getHits() - before.getHits());
+        Assert.assertEquals(3, sql.getQueryCacheStats().getMisses() - before.getMisses());
+
+        // changing the table removes its cached results
+        friends.update().set("age", 21).where().equals("id", john.id).executeAndClose();
+        Assert.assertEquals(2, friends.count().cached(1, TimeUnit.MINUTES).execute().getFirstColumnAsInt());
+        Assert.assertEquals(4, sql.getQueryCacheStats().getMisses() - before.getMisses());
+
+        // changing a joined table also removes the cached results
+        Table nicknames = sql.createIfNotExists(new TableBuilder("nicknames")
+                .withColumn(new ColumnBuilder("friend_id", DefaultDataTypes.INTEGER, DefaultAttributes.NOT_NULL))
+                .withColumn(new ColumnBuilder("nickname", DefaultDataTypes.VARCHAR, 32, DefaultAttributes.NOT_NULL)));
+        try {
+            StatementBase.Join join = new StatementBase.Join("nicknames", "id", "friend_id", StatementBase.Join.JoinType.INNER);
+            Assert.assertEquals(0, friends.count().join(join).cached(1, TimeUnit.MINUTES).execute().getFirstColumnAsInt());
+            nicknames.insert("friend_id, nickname", john.id, "Johnny").executeAndClose();
+            Assert.assertEquals(1, friends.count().join(join).cached(1, TimeUnit.MINUTES).execute().getFirstColumnAsInt());
+        } finally {
+            nicknames.drop();
+        }
+    }
+
+    private static void checkEntityCache(EzSQL sql, Table friends) throws SQLException {
+        System.out.println("Testing the entity cache");
+        sql.withEntityCache("friends", 16, 1, TimeUnit.MINUTES);
+        EntityCache cache = sql.getEntityCache("friends");
+
+        Friend first = friends.findById(Friend.class, john.id);
+        Friend second = friends.findById(Friend.class, (long) john.id);
+        Assert.assertEquals(john.email, second.email);
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(1, cache.getStats().getHits());
+        Assert.assertEquals(1, cache.getStats().getMisses());
+
+        // the cache keeps a copy
+        second.age = 99;
+        Assert.assertEquals(john.age, friends.findById(Friend.class, john.id).age);
+
+        john.age = 40;
+        friends.update(john).executeAndClose();
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(40, friends.findById(Friend.class, john.id).age);
+
+        john.age = 21;
+        friends.update().set("age", john.age).where().equals("id", john.id).executeAndClose();
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(21, friends.findById(Friend.class, john.id).age);
+
+        Assert.assertNull(friends.findById(Friend.class, 404));
+        sql.withEntityCache("friends", 0, 1, TimeUnit.MINUTES);
+        Assert.assertNull(sql.getEntityCache("friends"));
+    }
+
+    private static void updateWithObject(Table friends) throws SQLException {
+        CompiledQuery<UpdateResult> setAge = friends.update().set("age", 0).where().equals("id", 0).compile();
+        try (UpdateResult result = setAge.execute(22, john.id)) {
+            Assert.assertEquals(1, result.getUpdatedRows());
+        }
+        Assert.assertEquals(22, friends.select().where().equals("id", john.id).execute().to(Friend.class).age);
+        setAge.execute(21, john.id).close();
+
         mary.phone = "222";
         friends.update(mary).executeAndClose();
 
@@ -152,6 +398,154 @@ public class Tester {
         Assert.assertEquals(1, friends.select().execute().toList(Friend.class).size());
     }
 
+    private static void insertBatchWithObject(Table friends) throws SQLException {
+        // a failed chunk doesn't leave stale cached results for the chunks executed before it
+        String existingEmail = friends.select().execute().to(Friend.class).email;
+        Assert.assertEquals(1, friends.count().cached(1, TimeUnit.MINUTES).execute().getFirstColumnAsInt());
+        List<Friend> failing = Arrays.asList(new Friend("Partial", 40, null, "partial@example.com", FriendType.WEB_FRIEND),
+                new Friend("Duplicated", 41, null, existingEmail, FriendType.WEB_FRIEND));
+        try {
+            friends.insertBatch(failing, 1);
+            Assert.fail("The duplicated e-mail should fail");
+        } catch (SQLException expected) {
+            // the first chunk is kept
+        }
+        Assert.assertEquals(2, friends.count().cached(1, TimeUnit.MINUTES).execute().getFirstColumnAsInt());
+        friends.delete().where().equals("email", "partial@example.com").executeAndClose();
+
+        List<Friend> batch = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            // the friend without phone has other columns, so it goes to another batch
+            batch.add(new Friend("Batch " + i, 30 + i, i == 2 ? null : "90" + i, "batch" + i + "@example.com", FriendType.WEB_FRIEND));
+        }
+
+        int[] counts = friends.insertBatch(batch, 2);
+
+        Assert.assertArrayEquals(new int[]{2, 1, 2}, counts);
+        Assert.assertEquals(6, friends.count().execute().getFirstColumnAsInt());
+        Assert.assertEquals(32, friends.select().where().equals("email", "batch2@example.com").execute().to(Friend.class).age);
+    }
+
+    private static void updateAllWithObject(Table friends) throws SQLException {
+        List<Friend> batch = friends.select().where().like("email", "batch%").execute().toList(Friend.class);
+        batch.forEach(friend -> {
+            friend.age += 10;
+            friend.phone = friend.phone == null ? "800" : null;
+        });
+
+        Assert.assertEquals(5, friends.updateAll(batch));
+        Assert.assertEquals(21 + 40 + 41 + 42 + 43 + 44, friends.sum("age").execute().getFirstColumnAsInt());
+        Assert.assertEquals("800", friends.select().where().equals("email", "batch2@example.com").execute().to(Friend.class).phone);
+        Assert.assertEquals(2, friends.count("phone").execute().getFirstColumnAsInt());
+    }
+
+    private static void deleteAllWithObject(Table friends) throws SQLException {
+        List<Friend> batch = friends.select().where().like("email", "batch%").execute().toList(Friend.class);
+
+        friends.deleteAll(batch.get(0), batch.get(1)).executeAndClose();
+        Assert.assertEquals(4, friends.count().execute().getFirstColumnAsInt());
+
+        Assert.assertEquals(3, friends.deleteAll(batch.subList(2, batch.size())));
+        Assert.assertEquals(1, friends.count().execute().getFirstColumnAsInt());
+    }
+
+    private static void transactionWithObject(EzSQL sql, Table friends) throws SQLException {
+        System.out.println("Testing transactions");
+        if (!sql.supportsTransactions()) {
+            // the single connection is shared by all the threads
+            try {
+                sql.transaction(tx -> null);
+                Assert.fail("The transactions should need the pool");
+            } catch (SQLException expected) {
+                System.out.println(expected.getMessage());
+            }
+            return;
+        }
+
+        int inserted = (int) sql.transaction(tx -> {
+            Assert.assertTrue(sql.isInTransaction());
+            for (int i = 0; i < 3; i++) {
+                tx.queue(friends.insert(new Friend("Tx " + i, 40 + i, "70" + i, "tx" + i + "@example.com", FriendType.IRL)));
+            }
+            Assert.assertEquals(3, tx.getQueuedCount());
+            // the statements executed directly are part of the transaction too
+            friends.insert(new Friend("Tx 3", 43, "703", "tx3@example.com", FriendType.IRL)).executeAndClose();
+
+            // a nested transaction runs in a savepoint
+            try {
+                sql.transaction(nested -> {
+                    friends.insert(new Friend("Tx 4", 44, "704", "tx4@example.com", FriendType.IRL)).executeAndClose();
+                    throw new IllegalStateException("rollback");
+                });
+                Assert.fail();
+            } catch (IllegalStateException ignored) {
+            }
+            // an error rolls back the savepoint too
+            try {
+                sql.transaction(nested -> {
+                    friends.insert(new Friend("Tx 5", 45, "705", "tx5@example.com", FriendType.IRL)).executeAndClose();
+                    throw new Error("rollback");
+                });
+                Assert.fail();
+            } catch (Error expected) {
+                Assert.assertEquals("rollback", expected.getMessage());
+            }
+            Assert.assertEquals(0, tx.getQueuedCount());
+            return friends.count().where().like("email", "tx%").execute().getFirstColumnAsInt();
+        });
+        Assert.assertFalse(sql.isInTransaction());
+        Assert.assertEquals(4, inserted);
+        Assert.assertEquals(5, friends.count().execute().getFirstColumnAsInt());
+
+        // a failed transaction is rolled back
+        List<Friend> txFriends = friends.select().where().like("email", "tx%").execute().toList(Friend.class);
+        try {
+            sql.transaction(tx -> {
+                txFriends.forEach(friend -> tx.queue(friends.delete(friend)));
+                tx.flush();
+                Assert.assertEquals(1, friends.count().execute().getFirstColumnAsInt());
+                throw new SQLException("rollback");
+            });
+            Assert.fail();
+        } catch (SQLException ignored) {
+        }
+        Assert.assertEquals(5, friends.count().execute().getFirstColumnAsInt());
+
+        sql.transaction(tx -> {
+            txFriends.forEach(friend -> tx.queue(friends.delete(friend)));
+            return null;
+        });
+        Assert.assertEquals(1, friends.count().execute().getFirstColumnAsInt());
+
+        // the raw statements run in the transaction connection too
+        try {
+            sql.transaction(tx -> {
+                sql.executeUnsafeStatementAndClose("DELETE FROM %s", friends.getName());
+                Assert.assertEquals(0, friends.count().execute().getFirstColumnAsInt());
+                throw new SQLException("rollback");
+            });
+            Assert.fail();
+        } catch (SQLException ignored) {
+        }
+        Assert.assertEquals(1, friends.count().execute().getFirstColumnAsInt());
+
+        // a result opened in a transaction and closed after it doesn't give back the connection again
+        QueryResult open = (QueryResult) sql.transaction(tx -> friends.select().execute());
+        ConnectionPool pool = sql.getPool();
+        if (pool != null) {
+            Connection borrowed = pool.borrow();
+            try {
+                open.close();
+                Assert.assertTrue(pool.isBorrowed(borrowed));
+                Assert.assertEquals(1, pool.getBorrowedCount());
+            } finally {
+                pool.release(borrowed);
+            }
+        } else {
+            open.close();
+        }
+    }
+
     private static void testTableWithBuilders(EzSQL sql) throws SQLException {
         System.out.println("Testing with Builders");
         Table friends = sql.getTable("friends");
@@ -201,8 +595,9 @@ public class Tester {
 
     private static void checkDataWithBuilder(Table friends) throws SQLException {
         // select using where
-        try (ResultSet result = friends.select().where().equals("name", "John Doe")
-                .execute().getResultSet()) {
+        try (QueryResult query = friends.select().where().equals("name", "John Doe")
+                .execute()) {
+            ResultSet result = query.getResultSet();
             if (result.next()) {
                 Assert.assertEquals(1, result.getInt("id"));
                 Assert.assertEquals("johndoe@example.com", result.getString("email"));
@@ -212,8 +607,9 @@ public class Tester {
         }
 
         // select using where like
-        try (ResultSet result = friends.select().where().like("email", "john%")
-                .execute().getResultSet()) {
+        try (QueryResult query = friends.select().where().like("email", "john%")
+                .execute()) {
+            ResultSet result = query.getResultSet();
             if (result.next()) {
                 Assert.assertEquals(1, result.getInt("id"));
                 Assert.assertEquals("johndoe@example.com", result.getString("email"));
@@ -223,8 +619,9 @@ public class Tester {
         }
 
         // select everything
-        try (ResultSet result = friends.select()
-                .execute().getResultSet()) {
+        try (QueryResult query = friends.select()
+                .execute()) {
+            ResultSet result = query.getResultSet();
             Assert.assertEquals(2, checkDataWithBuilder(result));
         }
     }
@@ -233,8 +630,9 @@ public class Tester {
         friends.update().set("phone", "222").where().equals("id", 2).executeAndClose();
 
         // check the updated value
-        try (ResultSet result = friends.select().where().equals("id", 2)
-                .execute().getResultSet()) {
+        try (QueryResult query = friends.select().where().equals("id", 2)
+                .execute()) {
+            ResultSet result = query.getResultSet();
             if (result.next()) {
                 Assert.assertEquals("222", result.getString("phone"));
             } else {
@@ -247,8 +645,9 @@ public class Tester {
         friends.delete().where().equals("id", 2).executeAndClose();
 
         // select everything
-        try (ResultSet result = friends.select()
-                .execute().getResultSet()) {
+        try (QueryResult query = friends.select()
+                .execute()) {
+            ResultSet result = query.getResultSet();
             Assert.assertEquals(1, checkDataWithBuilder(result));
         }
     }
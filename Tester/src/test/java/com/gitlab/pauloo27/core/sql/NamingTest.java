@@ -1,9 +1,11 @@
 package com.gitlab.pauloo27.core.sql;
 
+import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class NamingTest {
 
@@ -48,4 +50,26 @@ public class NamingTest {
         values.forEach((value, expected) -> Tests.printAndAssert(expected, String.valueOf(a.toColumnName(value)), value));
     }
 
+    @Test
+    public void testCachingNaming() {
+        AtomicInteger conversions = new AtomicInteger();
+        CachingNameConverter converter = new CachingNameConverter(new DefaultNameConverter() {
+            @Override
+            public String toColumnName(String fieldName) {
+                conversions.incrementAndGet();
+                return super.toColumnName(fieldName);
+            }
+        });
+
+        System.out.println("Testing the Caching Name Converter\n[value] expect > actual\n");
+        for (int i = 0; i < 3; i++) {
+            Tests.printAndAssert("user_name", converter.toColumnName("userName"), "userName");
+            Tests.printAndAssert("i_am_a_liar", converter.toColumnName("iAmALiar"), "iAmALiar");
+        }
+        Tests.printAndAssert("user_name", converter.toTableName("UserName"), "UserName");
+        Tests.printAndAssert("null", String.valueOf(converter.toColumnName(null)), "null");
+
+        Assert.assertEquals(3, conversions.get());
+    }
+
 }
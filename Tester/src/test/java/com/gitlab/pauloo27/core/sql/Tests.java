@@ -3,8 +3,17 @@ package com.gitlab.pauloo27.core.sql;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 public class Tests {
 
@@ -61,6 +70,13 @@ public class Tests {
         System.out.println("Testing the Entry Checker\n[value] expect > actual\n");
         values.forEach((value, expected) -> printAndAssert(expected.toString(), String.valueOf(EzSQL.checkEntryName(value)), value));
 
+        // only the valid names are cached and the invalid ones don't fill the cache
+        for (int i = 0; i < 2000; i++) {
+            Assert.assertFalse(EzSQL.checkEntryName("junk'" + i));
+            Assert.assertFalse(EzSQL.isEntryNameCached("junk'" + i));
+        }
+        Assert.assertTrue(EzSQL.checkEntryName("after_junk"));
+        Assert.assertTrue(EzSQL.isEntryNameCached("after_junk"));
     }
 
     @SuppressWarnings("deprecation")
@@ -100,6 +116,11 @@ public class Tests {
                         .where().equals("name", "People0")
                         .or().moreThan("age", 18).toString());
 
+        // Test delete with in
+        printAndAssert("DELETE FROM ${table} WHERE id IN (?, ?, ?);",
+                new Delete(null, null)
+                        .where().in("id", Arrays.asList(1, 2, 3)).toString());
+
         // Test select with join
         printAndAssert(
                 "SELECT pedidos.id, clientes.nome, clientes.telefone, pedidos.criadoEm FROM ${table} " +
@@ -121,4 +142,243 @@ public class Tests {
                                 StatementBase.Join.JoinType.INNER)).limit(3).toString());
     }
 
+    @Test
+    public void testFieldAccessors() throws NoSuchFieldException {
+        for (boolean generated : new boolean[]{true, false}) {
+            Friend friend = new Friend("Paulo", 18, "123", "paulo@sample.com", Friend.FriendType.WEB_FRIEND);
+
+            FieldAccessor age = FieldAccessor.of(Friend.class.getDeclaredField("age"), generated);
+            FieldAccessor username = FieldAccessor.of(Friend.class.getDeclaredField("username"), generated);
+            Assert.assertEquals(generated, age instanceof FieldAccessor.MethodHandleAccessor);
+            // each field holds its handles in its own copy of the accessor class
+            Assert.assertEquals(generated, age.getClass() != username.getClass());
+
+            Assert.assertEquals(18, age.get(friend));
+            Assert.assertEquals("Paulo", username.get(friend));
+
+            age.setInt(friend, 20);
+            Assert.assertEquals(20, friend.age);
+            age.set(friend, 21);
+            Assert.assertEquals(21, friend.age);
+            username.set(friend, "Paulo0");
+            Assert.assertEquals("Paulo0", friend.username);
+        }
+    }
+
+    private static EzSQL<Database, Table> createSQL() {
+        return new EzSQL<Database, Table>() {
+            @Override
+            public int getDefaultPort() {
+                return 0;
+            }
+
+            @Override
+            public String getURLBase() {
+                return null;
+            }
+
+            @Override
+            public String getDriverClass() {
+                return null;
+            }
+
+            @Override
+            protected Database getDatabaseByName(String name) {
+                return null;
+            }
+
+            @Override
+            protected Table getTableByName(String name) {
+                return null;
+            }
+        };
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEnumSerializers() {
+        EzSQL<Database, Table> sql = createSQL();
+
+        DataSerializer byName = sql.getSerializerByClass(Friend.FriendType.class);
+        Assert.assertEquals("WEB_FRIEND", byName.getSerializer().apply(Friend.FriendType.WEB_FRIEND));
+        Assert.assertEquals(Friend.FriendType.WEB_FRIEND, byName.getDeserializer().apply(Friend.FriendType.class, "WEB_FRIEND"));
+        Assert.assertNull(byName.getDeserializer().apply(Friend.FriendType.class, "UNKNOWN"));
+        Assert.assertEquals("VARCHAR", sql.getDateTypeByClass(Friend.FriendType.class).toSQL());
+
+        sql.registerOrdinalEnum(Friend.FriendType.class);
+        DataSerializer byOrdinal = sql.getSerializerByClass(Friend.FriendType.class);
+        Assert.assertEquals(1, byOrdinal.getSerializer().apply(Friend.FriendType.WEB_FRIEND));
+        Assert.assertEquals(Friend.FriendType.WEB_FRIEND, byOrdinal.getDeserializer().apply(Friend.FriendType.class, 1L));
+        Assert.assertNull(byOrdinal.getDeserializer().apply(Friend.FriendType.class, 2));
+        Assert.assertEquals("TINYINT", sql.getDateTypeByClass(Friend.FriendType.class).toSQL());
+    }
+
+    @Test
+    public void testColumnBinders() {
+        EzSQL<Database, Table> sql = createSQL();
+        EntityMetadata<Friend> entity = sql.getEntityMetadata(Friend.class);
+
+        // resolved once by the serialized class of the field
+        Assert.assertSame(sql.getBinder(Integer.class), getColumn(entity, "age").getBinder(21));
+        Assert.assertSame(sql.getBinder(String.class), getColumn(entity, "friendType").getBinder("IRL"));
+        // other classes and the null values are bound by their own binder
+        Assert.assertNull(getColumn(entity, "age").getBinder(21L));
+        Assert.assertNull(getColumn(entity, "email").getBinder(null));
+
+        // a custom serializer has no known class
+        sql.registerOrdinalEnum(Friend.FriendType.class);
+        Assert.assertNull(getColumn(sql.getEntityMetadata(Friend.class), "friendType").getBinder(1));
+
+        // registering a binder resolves the columns again
+        ParameterBinder<Integer> binder = PreparedStatement::setInt;
+        sql.registerBinder(Integer.class, binder);
+        Assert.assertSame(binder, getColumn(sql.getEntityMetadata(Friend.class), "age").getBinder(21));
+    }
+
+    private static EntityMetadata.Column getColumn(EntityMetadata<?> entity, String field) {
+        return entity.getColumns().stream().filter(column -> column.getField().getName().equals(field)).findFirst().orElseThrow(AssertionError::new);
+    }
+
+    @Test
+    public void testQueryHistogram() {
+        for (long value : new long[]{0, 1, 15, 16, 17, 31, 32, 33, 1000, 123456789, Long.MAX_VALUE}) {
+            int bucket = QueryHistogram.Histogram.bucketOf(value);
+            Assert.assertTrue(value <= QueryHistogram.Histogram.upperBoundOf(bucket));
+            Assert.assertTrue(bucket == 0 || value > QueryHistogram.Histogram.upperBoundOf(bucket - 1));
+        }
+
+        QueryHistogram.Histogram histogram = new QueryHistogram.Histogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000, i == 100);
+        }
+        Assert.assertEquals(100, histogram.getCount());
+        Assert.assertEquals(1, histogram.getFailures());
+        Assert.assertEquals(1000, histogram.getMin());
+        Assert.assertEquals(100000, histogram.getMax());
+        Assert.assertEquals(50500, histogram.getMean(), 0);
+        // the buckets have up to 6.25% of error
+        Assert.assertEquals(50000, histogram.getPercentile(50), 50000 * 0.0625);
+        Assert.assertEquals(99000, histogram.getPercentile(99), 99000 * 0.0625);
+        Assert.assertEquals(100000, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void testEntityCache() {
+        EntityMetadata<Friend> entity = createSQL().getEntityMetadata(Friend.class);
+        EntityCache cache = new EntityCache(2, 1, TimeUnit.MINUTES);
+
+        for (int id = 1; id <= 3; id++) {
+            Friend friend = new Friend("Friend " + id, 20 + id, null, "friend" + id + "@example.com", Friend.FriendType.IRL);
+            friend.id = id;
+            cache.put(entity, id, friend, cache.getGeneration());
+        }
+        // the least recently used was evicted
+        Assert.assertNull(cache.get(entity, 1));
+        Assert.assertEquals("Friend 2", cache.get(entity, 2L).username);
+        Assert.assertEquals(23, cache.get(entity, 3).age);
+        Assert.assertEquals(1, cache.getStats().getEvictions());
+
+        // an invalidation while loading skips the put
+        long generation = cache.getGeneration();
+        cache.invalidate(Collections.singletonList(3));
+        cache.put(entity, 1, new Friend(), generation);
+        Assert.assertNull(cache.get(entity, 1));
+        Assert.assertNull(cache.get(entity, 3));
+        Assert.assertEquals(1, cache.size());
+
+        cache.invalidateAll();
+        Assert.assertEquals(0, cache.size());
+
+        EntityCache expiring = new EntityCache(2, 1, TimeUnit.NANOSECONDS);
+        expiring.put(entity, 1, new Friend(), expiring.getGeneration());
+        Assert.assertNull(expiring.get(entity, 1));
+    }
+
+    @Test
+    public void testPoolIdleTimeout() throws SQLException, InterruptedException {
+        ConnectionPool pool = new ConnectionPool(Tests::createFakeConnection, 0, 2, 50);
+        Connection first = pool.borrow();
+        Connection second = pool.borrow();
+        pool.release(first);
+        pool.release(second);
+        Assert.assertEquals(2, pool.getIdleCount());
+
+        // evicted in background, without other borrows or releases
+        long deadline = System.currentTimeMillis() + 5000;
+        while (pool.getSize() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Assert.assertEquals(0, pool.getSize());
+        Assert.assertTrue(first.isClosed());
+        pool.close();
+    }
+
+    @Test
+    public void testPoolCreationFailure() throws SQLException {
+        List<Connection> opened = new ArrayList<>();
+        try {
+            new ConnectionPool(() -> {
+                if (opened.size() == 2)
+                    throw new SQLException("Cannot connect");
+                Connection connection = createFakeConnection();
+                opened.add(connection);
+                return connection;
+            }, 3, 4, 0);
+            Assert.fail("The pool should fail to open the third connection");
+        } catch (SQLException expected) {
+            Assert.assertEquals("Cannot connect", expected.getMessage());
+        }
+
+        // the connections opened before the failure are closed
+        Assert.assertEquals(2, opened.size());
+        for (Connection connection : opened) {
+            Assert.assertTrue(connection.isClosed());
+        }
+    }
+
+    @Test
+    public void testPoolStaleRelease() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(Tests::createFakeConnection, 0, 1, 0);
+        ConnectionLease lease = pool.lease();
+        pool.release(lease.getConnection());
+
+        // the same connection is borrowed again, the stale lease doesn't release it
+        Connection connection = pool.borrow();
+        Assert.assertSame(lease.getConnection(), connection);
+        lease.release();
+        Assert.assertTrue(pool.isBorrowed(connection));
+
+        pool.release(connection);
+        Assert.assertEquals(0, pool.getBorrowedCount());
+        Assert.assertEquals(1, pool.getIdleCount());
+        pool.close();
+    }
+
+    /**
+     * Creates a connection that only tracks if it's closed.
+     *
+     * @return The connection.
+     */
+    private static Connection createFakeConnection() {
+        boolean[] closed = {false};
+        return (Connection) Proxy.newProxyInstance(Tests.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                    closed[0] = true;
+                    return null;
+                case "isClosed":
+                    return closed[0];
+                case "isValid":
+                    return !closed[0];
+                case "getAutoCommit":
+                    return true;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    return null;
+            }
+        });
+    }
 }